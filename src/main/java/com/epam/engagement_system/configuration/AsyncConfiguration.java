@@ -1,23 +1,115 @@
 package com.epam.engagement_system.configuration;
 
+import com.epam.engagement_system.util.ExecutorInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfiguration {
+    private static final int ASYNC_CORE_POOL_SIZE = 5;
+    private static final int ASYNC_MAX_POOL_SIZE = 10;
+    private static final int ASYNC_QUEUE_CAPACITY = 25;
+
+    @Bean
+    public ExecutorInstrumentation asyncExecutorInstrumentation(MeterRegistry meterRegistry,
+                                                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                                @Value("${app.executors.saturation-threshold:0.8}") double saturationThreshold) {
+        int capacity = virtualThreads ? 0 : ASYNC_MAX_POOL_SIZE + ASYNC_QUEUE_CAPACITY;
+        return new ExecutorInstrumentation("asyncExecutor", capacity, saturationThreshold, meterRegistry);
+    }
+
+    @Bean
+    public ExecutorInstrumentation outboxExecutorInstrumentation(MeterRegistry meterRegistry,
+                                                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                                 @Value("${app.executors.saturation-threshold:0.8}") double saturationThreshold,
+                                                                 @Value("${app.outbox.workers:4}") int workers) {
+        int capacity = virtualThreads ? 0 : workers * 5;
+        return new ExecutorInstrumentation("outboxExecutor", capacity, saturationThreshold, meterRegistry);
+    }
+
+    // A full pool runs the task on the submitting thread instead of rejecting it, so an OTP is sent late rather than lost.
     @Bean(name = "asyncExecutor")
-    public Executor asyncExecutor() {
+    public Executor asyncExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                  @Qualifier("asyncExecutorInstrumentation") ExecutorInstrumentation instrumentation) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("MsgSender-", instrumentation);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
+        executor.setCorePoolSize(ASYNC_CORE_POOL_SIZE);
+        executor.setMaxPoolSize(ASYNC_MAX_POOL_SIZE);
+        executor.setQueueCapacity(ASYNC_QUEUE_CAPACITY);
         executor.setThreadNamePrefix("MsgSender-");
+        executor.setTaskDecorator(instrumentation);
+        executor.setRejectedExecutionHandler(instrumentation.countingRejections(new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "reportExecutor")
+    public Executor reportExecutor(@Value("${app.reports.workers:2}") int workers,
+                                   @Value("${app.reports.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ReportWorker-");
         executor.initialize();
         return executor;
     }
+
+    // Document processing is best effort: a full queue rejects the task and the upload is kept as it is.
+    @Bean(name = "documentExecutor")
+    public Executor documentExecutor(MeterRegistry meterRegistry,
+                                     @Value("${app.documents.workers:2}") int workers,
+                                     @Value("${app.documents.queue-capacity:50}") int queueCapacity,
+                                     @Value("${app.executors.saturation-threshold:0.8}") double saturationThreshold) {
+        ExecutorInstrumentation instrumentation = new ExecutorInstrumentation("documentExecutor", workers + queueCapacity,
+                saturationThreshold, meterRegistry);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(instrumentation);
+        executor.setRejectedExecutionHandler(instrumentation.countingRejections(new ThreadPoolExecutor.AbortPolicy()));
+        executor.setThreadNamePrefix("DocumentWorker-");
+        executor.initialize();
+        return executor;
+    }
+
+    // A saturated pool makes the dispatcher deliver on its own thread, which throttles claiming further batches.
+    // On virtual threads every message of a batch gets its own thread and the SMS limiter does the throttling.
+    @Bean(name = "outboxExecutor")
+    public Executor outboxExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                   @Qualifier("outboxExecutorInstrumentation") ExecutorInstrumentation instrumentation,
+                                   @Value("${app.outbox.workers:4}") int workers) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("OutboxSender-", instrumentation);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 4);
+        executor.setTaskDecorator(instrumentation);
+        executor.setRejectedExecutionHandler(instrumentation.countingRejections(new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setThreadNamePrefix("OutboxSender-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static Executor virtualThreadExecutor(String threadNamePrefix, ExecutorInstrumentation instrumentation) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(instrumentation);
+        return executor;
+    }
 }
@@ -3,9 +3,11 @@ package com.epam.engagement_system.configuration;
 import com.twilio.Twilio;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "app.sms.gateway", havingValue = "twilio", matchIfMissing = true)
 public class TwilioConfiguration {
 
     @Value("${twilio.account.sid}")
@@ -2,21 +2,29 @@ package com.epam.engagement_system.controller;
 
 import com.epam.engagement_system.domain.enums.AppointmentStatus;
 import com.epam.engagement_system.dto.ApiResponse;
+import com.epam.engagement_system.dto.CursorPage;
 import com.epam.engagement_system.dto.admin.AppointmentRejectionRequest;
+import com.epam.engagement_system.dto.admin.ScheduleRuleRequest;
+import com.epam.engagement_system.dto.admin.ScheduleRuleResponse;
 import com.epam.engagement_system.dto.admin.SlotGenerationRequest;
 import com.epam.engagement_system.dto.appointment.AppointmentInformationResponse;
+import com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse;
+import com.epam.engagement_system.dto.report.ReportJobResponse;
 import com.epam.engagement_system.service.AppointmentService;
+import com.epam.engagement_system.service.ReportJobService;
+import com.epam.engagement_system.service.ScheduleRuleService;
 import com.epam.engagement_system.service.TimeSlotService;
 import com.epam.engagement_system.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -36,24 +45,65 @@ public class AdminController {
     private final TimeSlotService timeSlotService;
     private final AppointmentService appointmentService;
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ScheduleRuleService scheduleRuleService;
+
     @PostMapping("/time-slots/generate")
     public ResponseEntity<ApiResponse<Object>> generateTimeSlots(@Valid @RequestBody SlotGenerationRequest request) {
-        String message = timeSlotService.generateSlotsForMonth(request.year(), request.month());
+        String message = timeSlotService.generateSlotsForMonths(request.year(), request.month(), request.monthsOrDefault());
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(new ApiResponse<>(true, message, null));
     }
 
+    @GetMapping("/schedule-rules")
+    public ResponseEntity<ApiResponse<List<ScheduleRuleResponse>>> getScheduleRules() {
+        List<ScheduleRuleResponse> rules = scheduleRuleService.findAll();
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Schedule rules fetched successfully", rules));
+    }
+
+    @PostMapping("/schedule-rules")
+    public ResponseEntity<ApiResponse<ScheduleRuleResponse>> createScheduleRule(@Valid @RequestBody ScheduleRuleRequest request) {
+        ScheduleRuleResponse rule = scheduleRuleService.createRule(request);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, "Schedule rule created successfully", rule));
+    }
+
+    @DeleteMapping("/schedule-rules/{id}")
+    public ResponseEntity<ApiResponse<Object>> deleteScheduleRule(@PathVariable Long id) {
+        scheduleRuleService.deleteRule(id);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Schedule rule deleted successfully", null));
+    }
+
     @GetMapping("/appointments")
-    public ResponseEntity<ApiResponse<List<AppointmentInformationResponse>>> getAppointmentByStatus(
-            @RequestParam(defaultValue = "PENDING") AppointmentStatus status)
+    public ResponseEntity<ApiResponse<List<AppointmentSummaryResponse>>> getAppointmentByStatus(
+            @RequestParam(defaultValue = "PENDING") AppointmentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.admin.appointments.page-size:50}") int size)
     {
-        List<AppointmentInformationResponse> appointments = appointmentService.findByStatus(status);
+        CursorPage<AppointmentSummaryResponse> page = appointmentService.findByStatus(status, cursor, size);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "Appointments fetched successfully", appointments));
+                .body(new ApiResponse<>(true, "Appointments fetched successfully", page.items(), page.nextCursor()));
+    }
+
+    @GetMapping("/appointments/{id}")
+    public ResponseEntity<ApiResponse<AppointmentInformationResponse>> getAppointment(@PathVariable Long id) {
+        AppointmentInformationResponse appointment = appointmentService.findById(id);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Appointment fetched successfully", appointment));
     }
 
     @PostMapping("/appointments/{id}/approve")
@@ -94,7 +144,7 @@ public class AdminController {
     }
 
     @GetMapping("/reports/appointments.{format}")
-    public ResponseEntity<InputStreamResource> getAppointmentReport(
+    public ResponseEntity<StreamingResponseBody> getAppointmentReport(
             @PathVariable String format,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate)
@@ -107,6 +157,39 @@ public class AdminController {
                 .status(HttpStatus.OK)
                 .headers(headers)
                 .contentType(MediaType.parseMediaType(report.contentType()))
-                .body(new InputStreamResource(report.stream()));
+                .body(report.body());
+    }
+
+    @PostMapping("/reports/appointments.{format}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitAppointmentReport(
+            @PathVariable String format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate)
+    {
+        ReportJobResponse job = reportJobService.submit(format, startDate, endDate);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(true, "Report job submitted successfully", job));
+    }
+
+    @GetMapping("/reports/jobs/{id}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getReportJob(@PathVariable Long id) {
+        ReportJobResponse job = reportJobService.getJob(id);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Report job fetched successfully", job));
+    }
+
+    @GetMapping("/reports/jobs/{id}/file")
+    public ResponseEntity<Resource> getReportJobFile(@PathVariable Long id) {
+        ReportJobService.ReportFile reportFile = reportJobService.getReportFile(id);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + reportFile.fileName() + "\"")
+                .contentType(MediaType.parseMediaType(reportFile.contentType()))
+                .body(reportFile.resource());
     }
 }
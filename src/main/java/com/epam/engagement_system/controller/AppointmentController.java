@@ -8,10 +8,14 @@ import com.epam.engagement_system.dto.appointment.TimeSlotInformationResponse;
 import com.epam.engagement_system.security.CurrentUser;
 import com.epam.engagement_system.security.UserPrincipal;
 import com.epam.engagement_system.service.AppointmentService;
+import com.epam.engagement_system.service.DocumentPreviewService;
 import com.epam.engagement_system.service.FileStorageService;
+import com.epam.engagement_system.util.FileDownloadUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -26,6 +30,9 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -35,6 +42,9 @@ public class AppointmentController {
 
     private final AppointmentService appointmentService;
     private final FileStorageService fileStorageService;
+    private final DocumentPreviewService documentPreviewService;
+
+    private static final Duration DOCUMENT_MAX_AGE = Duration.ofHours(1);
 
     @GetMapping("/my-appointments")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -81,13 +91,33 @@ public class AppointmentController {
 
     @GetMapping("/{id}/document")
     @PreAuthorize("hasRole('ADMIN') or @checkPermission.isAppointmentOwner(principal, #id)")
-    public ResponseEntity<Resource> getAppointmentDocument(@PathVariable Long id) {
+    public void getAppointmentDocument(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         String filename = appointmentService.getAppointmentDocumentPath(id);
-        Resource file = fileStorageService.downloadFile(filename);
+        Path file = fileStorageService.loadDocument(filename);
+        String eTag = fileStorageService.documentETag(filename);
+
+        // Content-addressed documents never change, so browsers may reuse them for a while and revalidate afterwards.
+        CacheControl cacheControl = eTag != null ? CacheControl.maxAge(DOCUMENT_MAX_AGE).cachePrivate() : CacheControl.noCache().cachePrivate();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"");
+        FileDownloadUtil.send(file, eTag, request, response);
+    }
+
+    @GetMapping("/{id}/document/preview")
+    @PreAuthorize("hasRole('ADMIN') or @checkPermission.isAppointmentOwner(principal, #id)")
+    public ResponseEntity<byte[]> getAppointmentDocumentPreview(@PathVariable Long id) {
+        String documentPath = appointmentService.getAppointmentDocumentPath(id);
+        String eTag = documentPreviewService.previewETag(documentPath);
+        byte[] preview = documentPreviewService.getPreview(documentPath);
+
+        CacheControl cacheControl = eTag != null ? CacheControl.maxAge(DOCUMENT_MAX_AGE).cachePrivate() : CacheControl.noCache().cachePrivate();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"")
-                .body(file);
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .contentType(MediaType.IMAGE_JPEG)
+                .body(preview);
     }
 
 }
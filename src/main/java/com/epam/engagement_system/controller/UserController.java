@@ -5,6 +5,7 @@ import com.epam.engagement_system.dto.user.UpdateProfileRequest;
 import com.epam.engagement_system.dto.user.UserInformationResponse;
 import com.epam.engagement_system.security.CurrentUser;
 import com.epam.engagement_system.security.UserPrincipal;
+import com.epam.engagement_system.service.AuthService;
 import com.epam.engagement_system.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final AuthService authService;
     @GetMapping("/me")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<ApiResponse<UserInformationResponse>> getCurrentUser(@CurrentUser UserPrincipal userPrincipal) {
@@ -42,4 +45,14 @@ public class UserController {
                 .status(HttpStatus.OK)
                 .body(new ApiResponse<>(true, "Profile updated successfully", userProfile));
     }
+
+    @PostMapping("/me/logout")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Object>> logout(@CurrentUser UserPrincipal userPrincipal) {
+        authService.logout(userPrincipal.getId());
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Logged out from all sessions", null));
+    }
 }
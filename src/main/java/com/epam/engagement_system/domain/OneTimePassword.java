@@ -0,0 +1,34 @@
+package com.epam.engagement_system.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "one_time_passwords")
+public class OneTimePassword {
+    @Id
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
+    @Column(name = "code_hash", length = 64)
+    private String codeHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "window_started_at", nullable = false)
+    private Instant windowStartedAt;
+
+    @Column(name = "request_count", nullable = false)
+    private int requestCount;
+}
@@ -0,0 +1,25 @@
+package com.epam.engagement_system.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "report_data_versions")
+public class ReportDataVersion {
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
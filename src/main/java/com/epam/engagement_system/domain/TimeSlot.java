@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,8 +17,11 @@ import java.time.LocalDateTime;
 @Setter
 @Table(name = "time_slots")
 public class TimeSlot {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_slots_seq")
+    @SequenceGenerator(name = "time_slots_seq", sequenceName = "time_slots_seq", allocationSize = TimeSlot.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -27,6 +31,17 @@ public class TimeSlot {
     @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
 
-    @Column(name = "is_available", nullable = false)
-    private boolean isAvailable = true;
+    @Column(name = "capacity", nullable = false)
+    private int capacity = 1;
+
+    @Column(name = "booked_count", nullable = false)
+    private int bookedCount;
+
+    public int getRemainingCapacity() {
+        return Math.max(capacity - bookedCount, 0);
+    }
+
+    public boolean isAvailable() {
+        return bookedCount < capacity;
+    }
 }
@@ -0,0 +1,8 @@
+package com.epam.engagement_system.domain.enums;
+
+public enum OutboxChannel {
+    SMS,
+    USER_QUEUE,
+    TOPIC,
+    ADMIN_DIGEST
+}
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.epam.engagement_system.domain.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.domain.enums;
+
+public enum ScheduleRuleType {
+    OPENING_HOURS,
+    BREAK,
+    CLOSED
+}
@@ -1,4 +1,10 @@
 package com.epam.engagement_system.dto;
 
-public record ApiResponse<T>(boolean success, String message, T data) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record ApiResponse<T>(boolean success, String message, T data,
+                             @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor) {
+    public ApiResponse(boolean success, String message, T data) {
+        this(success, message, data, null);
+    }
 }
@@ -0,0 +1,5 @@
+package com.epam.engagement_system.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {}
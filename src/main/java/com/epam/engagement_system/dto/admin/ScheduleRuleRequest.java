@@ -0,0 +1,29 @@
+package com.epam.engagement_system.dto.admin;
+
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record ScheduleRuleRequest(
+        @NotNull(message = "Rule type not provided")
+        ScheduleRuleType type,
+
+        DayOfWeek dayOfWeek,
+
+        LocalDate date,
+
+        LocalTime startTime,
+
+        LocalTime endTime,
+
+        Integer slotMinutes,
+
+        Integer capacity,
+
+        @Size(max = 255, message = "Description cannot be longer than 255 characters")
+        String description
+) {}
@@ -0,0 +1,25 @@
+package com.epam.engagement_system.dto.admin;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record ScheduleRuleResponse(
+        Long id,
+        ScheduleRuleType type,
+        DayOfWeek dayOfWeek,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        Integer slotMinutes,
+        Integer capacity,
+        String description
+) {
+    public static ScheduleRuleResponse mapToDto(ScheduleRule rule) {
+        return new ScheduleRuleResponse(rule.getId(), rule.getType(), rule.getDayOfWeek(), rule.getDate(),
+                rule.getStartTime(), rule.getEndTime(), rule.getSlotMinutes(), rule.getCapacity(), rule.getDescription());
+    }
+}
@@ -12,5 +12,13 @@ public record SlotGenerationRequest (
         @NotNull(message = "Month not provided")
         @Min(value = 1, message = "Month cannot be less than 1")
         @Max(value = 12, message = "Month cannot be greater than 12")
-        int month
-) {}
+        int month,
+
+        @Min(value = 1, message = "At least one month must be generated")
+        @Max(value = 24, message = "At most 24 months can be generated at once")
+        Integer months
+) {
+    public int monthsOrDefault() {
+        return months == null ? 1 : months;
+    }
+}
@@ -0,0 +1,10 @@
+package com.epam.engagement_system.dto.appointment;
+
+import com.epam.engagement_system.domain.enums.AppointmentStatus;
+
+public record AppointmentAccess(
+        Long id,
+        Long applicantId,
+        AppointmentStatus status,
+        String documentPath
+) {}
@@ -0,0 +1,20 @@
+package com.epam.engagement_system.dto.appointment;
+
+import com.epam.engagement_system.domain.enums.AppointmentStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record AppointmentSummaryResponse(
+        Long id,
+        AppointmentStatus status,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String applicantPhoneNumber,
+        String groomFirstName,
+        String groomLastName,
+        String brideFirstName,
+        String brideLastName,
+        Instant createdAt,
+        String rejectionReason
+) {}
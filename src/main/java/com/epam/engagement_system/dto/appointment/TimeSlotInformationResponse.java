@@ -4,4 +4,5 @@ import com.epam.engagement_system.domain.TimeSlot;
 
 import java.time.LocalDateTime;
 
-public record TimeSlotInformationResponse(Long id, LocalDateTime startTime, LocalDateTime endTime) {}
+public record TimeSlotInformationResponse(Long id, LocalDateTime startTime, LocalDateTime endTime,
+                                          int capacity, int remainingCapacity) {}
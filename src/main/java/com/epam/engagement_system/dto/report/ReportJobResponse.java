@@ -0,0 +1,21 @@
+package com.epam.engagement_system.dto.report;
+
+import com.epam.engagement_system.domain.enums.ReportJobStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record ReportJobResponse(
+        Long id,
+        String format,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReportJobStatus status,
+        long processedRows,
+        Long totalRows,
+        int progressPercent,
+        String errorMessage,
+        Instant createdAt,
+        Instant completedAt,
+        Instant expiresAt
+) {}
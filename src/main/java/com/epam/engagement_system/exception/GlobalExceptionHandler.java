@@ -6,6 +6,11 @@ import com.epam.engagement_system.exception.appointment.ExistingPendingAppointme
 import com.epam.engagement_system.exception.appointment.InvalidWitnessException;
 import com.epam.engagement_system.exception.appointment.TimeSlotNotAvailableException;
 import com.epam.engagement_system.exception.auth.OTPNotFoundException;
+import com.epam.engagement_system.exception.auth.OTPRateLimitException;
+import com.epam.engagement_system.exception.report.InvalidReportRequestException;
+import com.epam.engagement_system.exception.report.ReportGenerationException;
+import com.epam.engagement_system.exception.report.ReportQueueFullException;
+import com.epam.engagement_system.exception.schedule.InvalidScheduleRuleException;
 import com.epam.engagement_system.exception.user.ProfileIncompleteException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +31,13 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse<>(false, exception.getMessage(), null));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidCursor(InvalidCursorException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<List<FieldError>>> handleMethodArgumentNotValid(MethodArgumentNotValidException exception) {
         List<FieldError> fieldErrors = exception.getBindingResult().getFieldErrors();
@@ -76,4 +88,39 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(new ApiResponse<>(false, exception.getMessage(), null));
     }
+
+    @ExceptionHandler(OTPRateLimitException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOTPRateLimit(OTPRateLimitException exception) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
+
+    @ExceptionHandler(ReportGenerationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleReportGeneration(ReportGenerationException exception) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
+
+    @ExceptionHandler(InvalidReportRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidReportRequest(InvalidReportRequestException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
+
+    @ExceptionHandler(ReportQueueFullException.class)
+    public ResponseEntity<ApiResponse<Object>> handleReportQueueFull(ReportQueueFullException exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
+
+    @ExceptionHandler(InvalidScheduleRuleException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidScheduleRule(InvalidScheduleRuleException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(false, exception.getMessage(), null));
+    }
 }
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.exception.auth;
+
+public class OTPRateLimitException extends RuntimeException {
+    public OTPRateLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.exception.report;
+
+public class InvalidReportRequestException extends RuntimeException {
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.exception.report;
+
+public class ReportGenerationException extends RuntimeException {
+    public ReportGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.engagement_system.exception.report;
+
+public class ReportQueueFullException extends RuntimeException {
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+}
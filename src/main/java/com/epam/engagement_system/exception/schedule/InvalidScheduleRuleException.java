@@ -0,0 +1,7 @@
+package com.epam.engagement_system.exception.schedule;
+
+public class InvalidScheduleRuleException extends RuntimeException {
+    public InvalidScheduleRuleException(String message) {
+        super(message);
+    }
+}
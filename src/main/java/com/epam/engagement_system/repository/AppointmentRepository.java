@@ -2,12 +2,22 @@ package com.epam.engagement_system.repository;
 
 import com.epam.engagement_system.domain.Appointment;
 import com.epam.engagement_system.domain.enums.AppointmentStatus;
+import com.epam.engagement_system.dto.appointment.AppointmentAccess;
+import com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -17,23 +27,61 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             "WHERE a.applicant.id = :applicantId ORDER BY a.createdAt DESC")
     List<Appointment> findByApplicantId(Long applicantId);
 
+    @Query("SELECT new com.epam.engagement_system.dto.appointment.AppointmentAccess(a.id, a.applicant.id, a.status, a.documentPath) " +
+            "FROM Appointment a WHERE a.id = :id")
+    Optional<AppointmentAccess> findAccessById(Long id);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.timeSlot JOIN FETCH a.applicant WHERE a.id = :id")
+    Optional<Appointment> findWithDetailsById(Long id);
+
     boolean existsByApplicantIdAndStatusIn(Long applicantId, List<AppointmentStatus> statuses);
 
-    @Query("SELECT a FROM Appointment a " +
-            "JOIN FETCH a.applicant " +
-            "JOIN FETCH a.timeSlot " +
-            "WHERE a.status = :status ORDER BY a.createdAt ASC")
-    List<Appointment> findByStatusWithDetails(AppointmentStatus status);
+    boolean existsByDocumentPath(String documentPath);
+
+    // Held until the transaction ends. A booking that references a document and the cleanup that deletes it
+    // take this lock, so the cleanup either sees the booking or finishes before the booking commits.
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:documentPath))", nativeQuery = true)
+    int lockDocumentPath(String documentPath);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.documentPath = :newDocumentPath WHERE a.id = :id AND a.documentPath = :oldDocumentPath")
+    int replaceDocumentPath(Long id, String oldDocumentPath, String newDocumentPath);
+
+    long countByApplicantId(Long applicantId);
+
+    @Query("SELECT new com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse(" +
+            "a.id, a.status, ts.startTime, ts.endTime, u.phoneNumber, a.groomFirstName, a.groomLastName, " +
+            "a.brideFirstName, a.brideLastName, a.createdAt, a.rejectionReason) " +
+            "FROM Appointment a JOIN a.timeSlot ts JOIN a.applicant u " +
+            "WHERE a.status = :status " +
+            "ORDER BY a.createdAt ASC, a.id ASC")
+    List<AppointmentSummaryResponse> findSummariesByStatus(AppointmentStatus status, Limit limit);
+
+    @Query("SELECT new com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse(" +
+            "a.id, a.status, ts.startTime, ts.endTime, u.phoneNumber, a.groomFirstName, a.groomLastName, " +
+            "a.brideFirstName, a.brideLastName, a.createdAt, a.rejectionReason) " +
+            "FROM Appointment a JOIN a.timeSlot ts JOIN a.applicant u " +
+            "WHERE a.status = :status AND a.createdAt >= :createdAt " +
+            "AND (a.createdAt > :createdAt OR a.id > :id) " +
+            "ORDER BY a.createdAt ASC, a.id ASC")
+    List<AppointmentSummaryResponse> findSummariesByStatusAfter(AppointmentStatus status, Instant createdAt, Long id, Limit limit);
 
     @Query("SELECT a FROM Appointment a JOIN FETCH a.applicant JOIN FETCH a.timeSlot " +
             "WHERE a.status = 'APPROVED' AND a.reminderSent = false AND a.timeSlot.startTime > :now " +
             "AND a.timeSlot.startTime <= :limit")
     List<Appointment> findAppointmentsForReminder(LocalDateTime now, LocalDateTime limit);
 
+    long countByTimeSlot_StartTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
     @Query("SELECT a FROM Appointment a " +
             "JOIN FETCH a.timeSlot " +
             "JOIN FETCH a.applicant " +
             "WHERE a.timeSlot.startTime BETWEEN :start AND :end " +
             "ORDER BY a.id ASC")
-    List<Appointment> findAllWithTimeSlotBetween(LocalDateTime start, LocalDateTime end);
+    Stream<Appointment> streamAllWithTimeSlotBetween(LocalDateTime start, LocalDateTime end);
 }
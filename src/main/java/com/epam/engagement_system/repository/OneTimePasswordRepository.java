@@ -0,0 +1,38 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.OneTimePassword;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface OneTimePasswordRepository extends JpaRepository<OneTimePassword, String> {
+    // Counts the request and stores the code in one statement, so nodes cannot race past the rate limit.
+    // Nothing is written, and 0 is returned, when the current window already holds maxRequests codes.
+    @Modifying
+    @Query(value = """
+            INSERT INTO one_time_passwords (phone_number, code_hash, expires_at, window_started_at, request_count)
+            VALUES (:phoneNumber, :codeHash, :expiresAt, :now, 1)
+            ON CONFLICT (phone_number) DO UPDATE SET
+                code_hash = EXCLUDED.code_hash,
+                expires_at = EXCLUDED.expires_at,
+                window_started_at = CASE WHEN one_time_passwords.window_started_at < :windowStart
+                                         THEN EXCLUDED.window_started_at ELSE one_time_passwords.window_started_at END,
+                request_count = CASE WHEN one_time_passwords.window_started_at < :windowStart
+                                     THEN 1 ELSE one_time_passwords.request_count + 1 END
+            WHERE one_time_passwords.window_started_at < :windowStart OR one_time_passwords.request_count < :maxRequests
+            """, nativeQuery = true)
+    int issue(String phoneNumber, String codeHash, Instant expiresAt, Instant now, Instant windowStart, int maxRequests);
+
+    @Modifying
+    @Query("UPDATE OneTimePassword o SET o.codeHash = null " +
+            "WHERE o.phoneNumber = :phoneNumber AND o.codeHash = :codeHash AND o.expiresAt > :now")
+    int consume(String phoneNumber, String codeHash, Instant now);
+
+    @Modifying
+    @Query("DELETE FROM OneTimePassword o WHERE o.expiresAt <= :now AND o.windowStartedAt < :windowStart")
+    int deleteExpired(Instant now, Instant windowStart);
+}
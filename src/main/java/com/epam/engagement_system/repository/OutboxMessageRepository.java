@@ -0,0 +1,33 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    // Rows locked by another dispatcher are skipped rather than waited for.
+    @Query(value = "SELECT * FROM outbox_messages WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> lockDueMessages(Instant now, int batchSize);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'SENT', m.sentAt = :sentAt, m.lastError = null WHERE m.id IN :ids")
+    int markSent(Collection<Long> ids, Instant sentAt);
+
+    // Gives back the attempt counted by the claim, since the message was never tried.
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.attempts = m.attempts - 1 WHERE m.id IN :ids")
+    int defer(Collection<Long> ids, Instant nextAttemptAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :sentBefore")
+    int deleteSentBefore(Instant sentBefore);
+}
@@ -0,0 +1,28 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.ReportDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReportDataVersionRepository extends JpaRepository<ReportDataVersion, LocalDate> {
+    // Each bump raises its day's counter by one under the row lock, so it never lowers a value another
+    // transaction already committed.
+    @Modifying
+    @Query(value = """
+            INSERT INTO report_data_versions (day, version) VALUES (:day, 1)
+            ON CONFLICT (day) DO UPDATE SET version = report_data_versions.version + 1
+            """, nativeQuery = true)
+    void bump(LocalDate day);
+
+    // Every committed bump in the period raises the sum, whatever order the changing transactions commit in.
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(version), 0) AS BIGINT) FROM report_data_versions
+            WHERE day BETWEEN :startDate AND :endDate
+            """, nativeQuery = true)
+    long sumVersions(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,34 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    @Query("SELECT j FROM ReportJob j " +
+            "WHERE j.format = :format AND j.startDate = :startDate AND j.endDate = :endDate " +
+            "AND j.dataVersion = :dataVersion " +
+            "AND (j.status IN ('QUEUED', 'RUNNING') OR (j.status = 'COMPLETED' AND j.expiresAt > :now)) " +
+            "ORDER BY j.createdAt DESC LIMIT 1")
+    Optional<ReportJob> findReusable(String format, LocalDate startDate, LocalDate endDate, long dataVersion, Instant now);
+
+    List<ReportJob> findByExpiresAtBefore(Instant now);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.status IN ('QUEUED', 'RUNNING')")
+    int touchHeartbeats(Collection<Long> ids, Instant now);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'FAILED', j.errorMessage = :errorMessage, j.completedAt = :now, " +
+            "j.expiresAt = :expiresAt WHERE j.status IN ('QUEUED', 'RUNNING') AND j.heartbeatAt < :staleBefore")
+    int failStale(Instant staleBefore, Instant now, Instant expiresAt, String errorMessage);
+}
@@ -0,0 +1,9 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScheduleRuleRepository extends JpaRepository<ScheduleRule, Long> {
+}
@@ -0,0 +1,72 @@
+package com.epam.engagement_system.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// Slot bounds as minutes since 1970-01-01T00:00 local time, kept in primitive arrays so that generating
+// thousands of slots does not allocate an object per slot.
+public final class SlotBatch {
+    private long[] startMinutes;
+    private long[] endMinutes;
+    private long[] capacities;
+    private int size;
+
+    public SlotBatch(int expectedSize) {
+        startMinutes = new long[Math.max(expectedSize, 16)];
+        endMinutes = new long[startMinutes.length];
+        capacities = new long[startMinutes.length];
+    }
+
+    public void add(long startMinute, long endMinute, int capacity) {
+        if (size == startMinutes.length) {
+            startMinutes = Arrays.copyOf(startMinutes, size * 2);
+            endMinutes = Arrays.copyOf(endMinutes, size * 2);
+            capacities = Arrays.copyOf(capacities, size * 2);
+        }
+        startMinutes[size] = startMinute;
+        endMinutes[size] = endMinute;
+        capacities[size] = capacity;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public LocalDateTime startTime(int index) {
+        return toDateTime(startMinutes[index]);
+    }
+
+    public LocalDateTime endTime(int index) {
+        return toDateTime(endMinutes[index]);
+    }
+
+    public int capacity(int index) {
+        return (int) capacities[index];
+    }
+
+    long[] startMinutes(int from, int to) {
+        return Arrays.copyOfRange(startMinutes, from, to);
+    }
+
+    long[] endMinutes(int from, int to) {
+        return Arrays.copyOfRange(endMinutes, from, to);
+    }
+
+    long[] capacities(int from, int to) {
+        return Arrays.copyOfRange(capacities, from, to);
+    }
+
+    public static long minuteOf(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
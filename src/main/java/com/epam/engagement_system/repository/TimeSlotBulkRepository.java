@@ -0,0 +1,14 @@
+package com.epam.engagement_system.repository;
+
+import java.time.LocalDate;
+
+public interface TimeSlotBulkRepository {
+    // Inserts the slots whose start time is not taken yet and returns how many were inserted.
+    int insertMissing(SlotBatch slots);
+
+    // Deletes the free, never booked slots of the given days that are not part of the given batch.
+    int deleteUnbookedNotIn(LocalDate[] days, SlotBatch slots);
+
+    // Applies the batch's capacities to existing slots with the same times and returns how many changed.
+    int updateCapacities(SlotBatch slots);
+}
@@ -0,0 +1,133 @@
+package com.epam.engagement_system.repository;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+class TimeSlotBulkRepositoryImpl implements TimeSlotBulkRepository {
+    private static final int MAX_ROWS_PER_STATEMENT = 5000;
+    private static final String ALLOCATE_ID_BLOCKS = "SELECT nextval('time_slots_seq') FROM generate_series(1, ?)";
+    // The set difference against existing slots runs in the database, so the candidates go out in one round-trip.
+    // The unique start time index makes concurrent generations skip each other's slots instead of duplicating them.
+    private static final String INSERT_MISSING = """
+            INSERT INTO time_slots (id, start_time, end_time, capacity, booked_count)
+            SELECT c.id, c.start_time, c.end_time, c.capacity, 0
+            FROM (SELECT u.id,
+                         timestamp 'epoch' + u.start_minute * interval '1 minute' AS start_time,
+                         timestamp 'epoch' + u.end_minute * interval '1 minute' AS end_time,
+                         u.capacity
+                  FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS bigint[]))
+                       AS u(id, start_minute, end_minute, capacity)) c
+            ON CONFLICT (start_time) DO NOTHING
+            """;
+    private static final String DELETE_UNBOOKED_NOT_IN = """
+            DELETE FROM time_slots ts
+            USING unnest(?) AS d(day)
+            WHERE ts.start_time >= d.day AND ts.start_time < d.day + 1
+              AND ts.booked_count = 0
+              AND NOT EXISTS (SELECT 1 FROM appointments a WHERE a.time_slot_id = ts.id)
+              AND NOT EXISTS (SELECT 1 FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS k(start_minute, end_minute)
+                              WHERE ts.start_time = timestamp 'epoch' + k.start_minute * interval '1 minute'
+                                AND ts.end_time = timestamp 'epoch' + k.end_minute * interval '1 minute')
+            """;
+    // A slot never shrinks below the seats already booked on it; such slots keep their capacity.
+    private static final String UPDATE_CAPACITIES = """
+            UPDATE time_slots ts SET capacity = k.capacity
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS bigint[])) AS k(start_minute, end_minute, capacity)
+            WHERE ts.start_time = timestamp 'epoch' + k.start_minute * interval '1 minute'
+              AND ts.end_time = timestamp 'epoch' + k.end_minute * interval '1 minute'
+              AND ts.capacity <> k.capacity
+              AND ts.booked_count <= k.capacity
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertMissing(SlotBatch slots) {
+        int inserted = 0;
+        for (int from = 0; from < slots.size(); from += MAX_ROWS_PER_STATEMENT) {
+            inserted += insertChunk(slots, from, Math.min(from + MAX_ROWS_PER_STATEMENT, slots.size()));
+        }
+        return inserted;
+    }
+
+    @Override
+    public int deleteUnbookedNotIn(LocalDate[] days, SlotBatch slots) {
+        if (days.length == 0) {
+            return 0;
+        }
+        Date[] sqlDays = new Date[days.length];
+        for (int i = 0; i < days.length; i++) {
+            sqlDays[i] = Date.valueOf(days[i]);
+        }
+        Integer deleted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_UNBOOKED_NOT_IN)) {
+                statement.setArray(1, connection.createArrayOf("date", sqlDays));
+                statement.setString(2, arrayLiteral(slots.startMinutes(0, slots.size())));
+                statement.setString(3, arrayLiteral(slots.endMinutes(0, slots.size())));
+                return statement.executeUpdate();
+            }
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    @Override
+    public int updateCapacities(SlotBatch slots) {
+        int updated = 0;
+        for (int from = 0; from < slots.size(); from += MAX_ROWS_PER_STATEMENT) {
+            int to = Math.min(from + MAX_ROWS_PER_STATEMENT, slots.size());
+            updated += jdbcTemplate.update(UPDATE_CAPACITIES, arrayLiteral(slots.startMinutes(from, to)),
+                    arrayLiteral(slots.endMinutes(from, to)), arrayLiteral(slots.capacities(from, to)));
+        }
+        return updated;
+    }
+
+    private int insertChunk(SlotBatch slots, int from, int to) {
+        long[] ids = allocateIds(to - from);
+        long[] startMinutes = slots.startMinutes(from, to);
+        long[] endMinutes = slots.endMinutes(from, to);
+        long[] capacities = slots.capacities(from, to);
+
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_MISSING)) {
+                statement.setString(1, arrayLiteral(ids));
+                statement.setString(2, arrayLiteral(startMinutes));
+                statement.setString(3, arrayLiteral(endMinutes));
+                statement.setString(4, arrayLiteral(capacities));
+                return statement.executeUpdate();
+            }
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    // Uses the blocks the same way Hibernate's pooled optimizer does: each sequence value is the upper end of
+    // ID_ALLOCATION_SIZE ids, so these ids never collide with ones allocated to entities.
+    private long[] allocateIds(int count) {
+        int blockSize = TimeSlot.ID_ALLOCATION_SIZE;
+        List<Long> blocks = jdbcTemplate.queryForList(ALLOCATE_ID_BLOCKS, Long.class, (count + blockSize - 1) / blockSize);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = blocks.get(i / blockSize) - blockSize + 1 + i % blockSize;
+        }
+        return ids;
+    }
+
+    // Primitive arrays travel as array literals, so no Long is boxed per slot on the way to the driver.
+    private static String arrayLiteral(long[] values) {
+        StringBuilder literal = new StringBuilder(values.length * 9 + 2).append('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(values[i]);
+        }
+        return literal.append('}').toString();
+    }
+}
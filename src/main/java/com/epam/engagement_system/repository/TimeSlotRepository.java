@@ -2,20 +2,29 @@ package com.epam.engagement_system.repository;
 
 import com.epam.engagement_system.domain.TimeSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 
 @Repository
-public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
-    @Query("SELECT ts.startTime FROM TimeSlot ts WHERE ts.startTime BETWEEN :start AND :end")
-    Set<LocalDateTime> findExistingStartTimes(LocalDateTime start, LocalDateTime end);
+public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long>, TimeSlotBulkRepository {
+    @Query("SELECT MAX(ts.startTime) FROM TimeSlot ts")
+    LocalDateTime findLatestStartTime();
 
-    List<TimeSlot> findByIsAvailableTrueAndStartTimeBetweenOrderByStartTimeAsc(LocalDateTime start, LocalDateTime end);
+    List<TimeSlot> findByStartTimeBetweenOrderByStartTimeAsc(LocalDateTime start, LocalDateTime end);
 
-    Optional<TimeSlot> findByIdAndIsAvailableTrue(Long id);
+    // Atomic counter: concurrent bookings of the same slot serialize on the row, and the condition is re-checked
+    // against the committed count, so a slot is never booked past its capacity.
+    @Modifying
+    @Query(value = "UPDATE time_slots SET booked_count = booked_count + 1 WHERE id = :id AND booked_count < capacity",
+            nativeQuery = true)
+    int claimSeat(Long id);
+
+    @Modifying
+    @Query(value = "UPDATE time_slots SET booked_count = booked_count - 1 WHERE id = :id AND booked_count > 0",
+            nativeQuery = true)
+    int releaseSeat(Long id);
 }
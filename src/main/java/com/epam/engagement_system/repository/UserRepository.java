@@ -2,7 +2,9 @@ package com.epam.engagement_system.repository;
 
 import com.epam.engagement_system.domain.ApplicationUser;
 import com.epam.engagement_system.domain.enums.RoleType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +13,10 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<ApplicationUser, Long> {
     Optional<ApplicationUser> findByPhoneNumber(String phoneNumber);
-    List<ApplicationUser> findByRoles_Name(RoleType role);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<ApplicationUser> findWithRolesByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT u.id FROM ApplicationUser u JOIN u.roles r WHERE r.name = :role")
+    List<Long> findIdsByRoleName(RoleType role);
 }
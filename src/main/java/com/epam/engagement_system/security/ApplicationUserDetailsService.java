@@ -5,33 +5,65 @@ import com.epam.engagement_system.domain.Role;
 import com.epam.engagement_system.domain.enums.RoleType;
 import com.epam.engagement_system.repository.RoleRepository;
 import com.epam.engagement_system.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.epam.engagement_system.service.cache.UserPrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
 public class ApplicationUserDetailsService implements UserDetailsService {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationUserDetailsService.class);
 
+    private final ApplicationUserDetailsService self;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final UserPrincipalCache principalCache;
+    private final Map<RoleType, Role> roles = new ConcurrentHashMap<>();
+
+    public ApplicationUserDetailsService(@Lazy ApplicationUserDetailsService self,
+                                         UserRepository userRepository,
+                                         RoleRepository roleRepository,
+                                         UserPrincipalCache principalCache) {
+        this.self = self;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.principalCache = principalCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRoles() {
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
+        logger.info("Loaded roles {}", roles.keySet());
+    }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String phoneNumber) {
-        ApplicationUser user = userRepository.findByPhoneNumber(phoneNumber)
-                .orElseGet(() -> {
-                    Role userRole = roleRepository.findByName(RoleType.USER)
-                            .orElseThrow(() -> new RuntimeException("Error: Default USER role not found."));
+        return principalCache.get(phoneNumber, self::loadPrincipal);
+    }
 
+    @Transactional
+    public UserPrincipal loadPrincipal(String phoneNumber) {
+        ApplicationUser user = userRepository.findWithRolesByPhoneNumber(phoneNumber)
+                .orElseGet(() -> {
                     ApplicationUser newUser = new ApplicationUser(phoneNumber);
-                    newUser.setRoles(Set.of(userRole));
+                    newUser.setRoles(Set.of(getRole(RoleType.USER)));
                     return userRepository.save(newUser);
                 });
         return UserPrincipal.create(user);
     }
+
+    public Role getRole(RoleType roleType) {
+        return roles.computeIfAbsent(roleType, type -> roleRepository.findByName(type)
+                .orElseThrow(() -> new RuntimeException("Error: Default " + type + " role not found.")));
+    }
 }
@@ -0,0 +1,38 @@
+package com.epam.engagement_system.security;
+
+import com.epam.engagement_system.service.JwtService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// Builds the STOMP session user from the verified token claims alone, so a reconnect storm never reaches the database.
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+    private final JwtService jwtService;
+
+    public StompAuthenticationInterceptor(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor =
+                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authHeader = accessor.getFirstNativeHeader("Authorization");
+            if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
+                jwtService.authenticate(authHeader.substring(7)).ifPresent(userPrincipal ->
+                        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                                userPrincipal, null, userPrincipal.getAuthorities())));
+            }
+        }
+        return message;
+    }
+}
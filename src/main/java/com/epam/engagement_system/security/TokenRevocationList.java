@@ -0,0 +1,40 @@
+package com.epam.engagement_system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Tokens carry everything needed to authenticate, so revoking one is the only thing that needs server state.
+// A user's revocation is forgotten once every token issued before it has expired anyway.
+@Component
+public class TokenRevocationList {
+    private final boolean enabled;
+    private final Cache<Long, Instant> revokedAtByUserId;
+
+    public TokenRevocationList(@Value("${app.jwt.revocation.enabled:true}") boolean enabled,
+                               @Value("${app.jwt.expiration-ms}") long tokenLifetimeMillis) {
+        this.enabled = enabled;
+        this.revokedAtByUserId = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(tokenLifetimeMillis, 0)))
+                .build();
+    }
+
+    public void revokeAll(Long userId) {
+        revokedAtByUserId.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // Token timestamps have second precision, so the revocation is kept at the same precision and a token
+    // issued within the second of the revocation stays valid; otherwise a login right after logout would be rejected.
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        Instant revokedAt = revokedAtByUserId.getIfPresent(userId);
+        return revokedAt != null && (issuedAt == null || issuedAt.isBefore(revokedAt));
+    }
+}
@@ -5,46 +5,87 @@ import com.epam.engagement_system.domain.Appointment;
 import com.epam.engagement_system.domain.TimeSlot;
 import com.epam.engagement_system.domain.enums.AppointmentStatus;
 import com.epam.engagement_system.domain.enums.Gender;
+import com.epam.engagement_system.dto.CursorPage;
+import com.epam.engagement_system.dto.appointment.AppointmentAccess;
 import com.epam.engagement_system.dto.appointment.AppointmentCreationRequest;
 import com.epam.engagement_system.dto.appointment.AppointmentCreationResponse;
 import com.epam.engagement_system.dto.appointment.AppointmentInformationResponse;
+import com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse;
 import com.epam.engagement_system.exception.appointment.IllegalAppointmentOperationException;
 import com.epam.engagement_system.dto.appointment.TimeSlotInformationResponse;
 import com.epam.engagement_system.exception.ResourceNotFoundException;
 import com.epam.engagement_system.exception.appointment.ExistingPendingAppointmentException;
 import com.epam.engagement_system.exception.appointment.InvalidWitnessException;
-import com.epam.engagement_system.exception.appointment.TimeSlotNotAvailableException;
 import com.epam.engagement_system.exception.storage.StorageException;
 import com.epam.engagement_system.exception.user.ProfileIncompleteException;
 import com.epam.engagement_system.repository.AppointmentRepository;
-import com.epam.engagement_system.repository.TimeSlotRepository;
 import com.epam.engagement_system.repository.UserRepository;
+import com.epam.engagement_system.service.cache.AppointmentAccessCache;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
+import com.epam.engagement_system.service.cache.TimeSlotAvailabilityCache;
 import com.epam.engagement_system.util.AppointmentUtil;
-import lombok.RequiredArgsConstructor;
+import com.epam.engagement_system.util.CursorUtil;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class AppointmentService {
+    private final AppointmentService self;
     private final AppointmentRepository appointmentRepository;
-    private final TimeSlotRepository timeSlotRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final FileStorageService fileStorageService;
+    private final DocumentProcessingService documentProcessingService;
+    private final SlotReservationService slotReservationService;
+    private final TimeSlotAvailabilityCache availabilityCache;
+    private final ReportDataVersions reportDataVersions;
+    private final AppointmentAccessCache appointmentAccessCache;
+    private final EntityManager entityManager;
+
+    public AppointmentService(@Lazy AppointmentService self,
+                              AppointmentRepository appointmentRepository,
+                              UserRepository userRepository,
+                              NotificationService notificationService,
+                              FileStorageService fileStorageService,
+                              DocumentProcessingService documentProcessingService,
+                              SlotReservationService slotReservationService,
+                              TimeSlotAvailabilityCache availabilityCache,
+                              ReportDataVersions reportDataVersions,
+                              AppointmentAccessCache appointmentAccessCache,
+                              EntityManager entityManager) {
+        this.self = self;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.fileStorageService = fileStorageService;
+        this.documentProcessingService = documentProcessingService;
+        this.slotReservationService = slotReservationService;
+        this.availabilityCache = availabilityCache;
+        this.reportDataVersions = reportDataVersions;
+        this.appointmentAccessCache = appointmentAccessCache;
+        this.entityManager = entityManager;
+    }
 
     private static final Logger logger = LoggerFactory.getLogger(AppointmentService.class);
+    private static final int MAX_QUEUE_PAGE_SIZE = 200;
+    private static final int REPORT_CLEAR_INTERVAL = 500;
 
     @Transactional(readOnly = true)
     public List<AppointmentInformationResponse> findByUserId(Long userId) {
@@ -57,46 +98,79 @@ public class AppointmentService {
     }
 
     @Transactional(readOnly = true)
-    public List<AppointmentInformationResponse> findByStatus(AppointmentStatus status) {
-        List<Appointment> appointments = appointmentRepository.findByStatusWithDetails(status);
-        int historyCount = appointments.size();
+    public CursorPage<AppointmentSummaryResponse> findByStatus(AppointmentStatus status, String cursor, int pageSize) {
+        int size = Math.clamp(pageSize, 1, MAX_QUEUE_PAGE_SIZE);
+        Limit limit = Limit.of(size + 1);
+
+        List<AppointmentSummaryResponse> appointments;
+        if (cursor == null || cursor.isBlank()) {
+            appointments = appointmentRepository.findSummariesByStatus(status, limit);
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            appointments = appointmentRepository.findSummariesByStatusAfter(status, position.createdAt(), position.id(), limit);
+        }
 
-        return appointments.stream()
-                .map(appointment -> AppointmentUtil.mapToAppointmentInformationDto(appointment, historyCount))
-                .collect(Collectors.toList());
+        if (appointments.size() <= size) {
+            return new CursorPage<>(appointments, null);
+        }
+        List<AppointmentSummaryResponse> page = appointments.subList(0, size);
+        AppointmentSummaryResponse last = page.getLast();
+        return new CursorPage<>(List.copyOf(page), CursorUtil.encode(last.createdAt(), last.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public AppointmentInformationResponse findById(Long appointmentId) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + appointmentId));
+        int historyCount = (int) appointmentRepository.countByApplicantId(appointment.getApplicant().getId());
+
+        return AppointmentUtil.mapToAppointmentInformationDto(appointment, historyCount);
     }
 
     public List<TimeSlotInformationResponse> getAvailableTimeSlots(int year, int month) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-        return timeSlotRepository
-                .findByIsAvailableTrueAndStartTimeBetweenOrderByStartTimeAsc(startOfMonth, endOfMonth)
-                .stream()
-                .map(timeSlot -> new TimeSlotInformationResponse(
-                        timeSlot.getId(), timeSlot.getStartTime(), timeSlot.getEndTime()))
-                .toList();
+        return availabilityCache.getAvailableSlots(YearMonth.of(year, month));
     }
 
-    @Transactional
+    // The upload is written to disk before any transaction starts, so a connection is only held for the booking itself.
     public AppointmentCreationResponse createAppointment(AppointmentCreationRequest request, MultipartFile file, Long applicantId) {
-        validateAbleToCreate(applicantId);
         validateWitnesses(request.witnesses());
         validateFileNotEmpty(file);
+        validateAbleToCreate(applicantId);
 
         ApplicationUser applicant = userRepository.findById(applicantId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + applicantId));
         validateProfileNotEmpty(applicant);
 
-        TimeSlot timeSlot = timeSlotRepository.findByIdAndIsAvailableTrue(request.timeSlotId())
-                .orElseThrow(() -> new TimeSlotNotAvailableException("Time slot is not available or does not exist."));
-        timeSlot.setAvailable(false);
+        FileStorageService.StagedDocument document = fileStorageService.stageDocument(file);
+        AppointmentCreationResponse response;
+        try {
+            response = self.bookAppointment(request, applicant, document.documentPath());
+        } catch (RuntimeException e) {
+            fileStorageService.discardStagedDocument(document);
+            throw e;
+        }
+
+        try {
+            fileStorageService.promoteDocument(document);
+        } catch (StorageException e) {
+            logger.error("Document {} of appointment {} stays staged until the next sweep: {}",
+                    document.documentPath(), response.id(), e.getMessage());
+            return response;
+        }
+        documentProcessingService.submit(response.id(), document.documentPath());
+        return response;
+    }
 
-        String documentFilename = fileStorageService.store(file);
+    @Transactional
+    public AppointmentCreationResponse bookAppointment(AppointmentCreationRequest request, ApplicationUser applicant,
+                                                       String documentFilename) {
+        TimeSlot timeSlot = slotReservationService.claim(request.timeSlotId());
+        availabilityCache.markBooked(timeSlot);
 
         Appointment appointment = AppointmentUtil.toAppointment(request, applicant, timeSlot, documentFilename);
+        appointmentRepository.lockDocumentPath(documentFilename);
         appointmentRepository.save(appointment);
+        reportDataVersions.markChanged(timeSlot);
 
         logger.info("New appointment created by {}.", applicant.getPhoneNumber());
 
@@ -116,7 +190,7 @@ public class AppointmentService {
 
     @Transactional
     public void cancelAppointment(Long appointmentId) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findWithDetailsById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id " + appointmentId));
 
         if (appointment.getStatus() != AppointmentStatus.PENDING && appointment.getStatus() != AppointmentStatus.APPROVED) {
@@ -128,10 +202,13 @@ public class AppointmentService {
         TimeSlot timeSlot = appointment.getTimeSlot();
         String formattedDate = "?";
         if (timeSlot != null) {
-            timeSlot.setAvailable(true);
+            slotReservationService.release(timeSlot);
+            availabilityCache.markReleased(timeSlot);
+            reportDataVersions.markChanged(timeSlot);
             formattedDate = timeSlot.getStartTime().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
         }
         appointmentRepository.save(appointment);
+        appointmentAccessCache.evict(appointmentId);
         logger.info("Appointment {} was cancelled.", appointmentId);
 
         String userMessage = String.format("Your appointment for %s has been cancelled.", formattedDate);
@@ -146,6 +223,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.APPROVED);
         appointmentRepository.save(appointment);
+        reportDataVersions.markChanged(appointment.getTimeSlot());
         logger.info("Appointment {} was approved", appointmentId);
 
         String formattedDate = appointment.getTimeSlot().getStartTime().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
@@ -165,7 +243,9 @@ public class AppointmentService {
         TimeSlot timeSlot = appointment.getTimeSlot();
         String formattedDate = "?";
         if (timeSlot != null) {
-            timeSlot.setAvailable(true);
+            slotReservationService.release(timeSlot);
+            availabilityCache.markReleased(timeSlot);
+            reportDataVersions.markChanged(timeSlot);
             formattedDate = timeSlot.getStartTime().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
         }
         appointmentRepository.save(appointment);
@@ -190,6 +270,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.COMPLETED);
         appointmentRepository.save(appointment);
+        reportDataVersions.markChanged(appointment.getTimeSlot());
         logger.info("Appointment {} was completed", appointmentId);
 
         String formattedDate = appointment.getTimeSlot().getStartTime().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
@@ -197,19 +278,38 @@ public class AppointmentService {
         notificationService.createAndSendNotification(appointment.getApplicant(), userMessage);
     }
 
-    @Transactional(readOnly = true)
     public String getAppointmentDocumentPath(Long appointmentId) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        AppointmentAccess appointment = appointmentAccessCache.get(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + appointmentId));
 
-        if (appointment.getDocumentPath() == null || appointment.getDocumentPath().isBlank()) {
+        if (appointment.documentPath() == null || appointment.documentPath().isBlank()) {
             throw new ResourceNotFoundException("No document found for appointment with id: " + appointmentId);
         }
 
-        return appointment.getDocumentPath();
+        return appointment.documentPath();
     }
 
-    public List<Appointment> getAppointmentsForReport(LocalDate startDate, LocalDate endDate) {
+    // Staged documents outlive the request only if the process stopped between staging and promotion.
+    @Scheduled(fixedDelayString = "${app.storage.staging-sweep-interval:PT15M}")
+    public void sweepStagedDocuments() {
+        for (FileStorageService.StagedDocument document : fileStorageService.findStaleStagedDocuments()) {
+            if (document.documentPath() != null && appointmentRepository.existsByDocumentPath(document.documentPath())) {
+                fileStorageService.promoteDocument(document);
+                logger.info("Promoted staged document {} of a booked appointment", document.documentPath());
+            } else {
+                fileStorageService.discardStagedDocument(document);
+                logger.info("Discarded staged file {} without an appointment", document.stagedFile());
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countAppointmentsForReport(LocalDate startDate, LocalDate endDate) {
+        return appointmentRepository.countByTimeSlot_StartTimeBetween(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAppointmentsForReport(LocalDate startDate, LocalDate endDate, Consumer<Stream<Appointment>> consumer) {
         if (startDate == null) {
             startDate = LocalDate.of(2025, 9, 1);
             logger.warn("Start date is null, setting to {}", startDate);
@@ -223,10 +323,17 @@ public class AppointmentService {
             throw new IllegalArgumentException("Start date cannot be after end date.");
         }
 
-        List<Appointment> appointments = appointmentRepository.findAllWithTimeSlotBetween(
-                startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
-        logger.info("Successfully fetched list of appointments from {} till {}", startDate, endDate);
-        return appointments;
+        AtomicLong rowCount = new AtomicLong();
+        try (Stream<Appointment> appointments = appointmentRepository.streamAllWithTimeSlotBetween(
+                startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX))) {
+            // Rows already written are dropped from the persistence context so it does not grow with the period.
+            consumer.accept(appointments.peek(appointment -> {
+                if (rowCount.incrementAndGet() % REPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }));
+        }
+        logger.info("Successfully streamed {} appointments from {} till {}", rowCount.get(), startDate, endDate);
     }
 
     private void validateAbleToCreate(Long applicantId) {
@@ -3,6 +3,9 @@ package com.epam.engagement_system.service;
 import com.epam.engagement_system.dto.auth.OTPVerificationRequest;
 import com.epam.engagement_system.dto.auth.OTPVerificationResponse;
 import com.epam.engagement_system.exception.auth.OTPNotFoundException;
+import com.epam.engagement_system.exception.auth.OTPRateLimitException;
+import com.epam.engagement_system.security.TokenRevocationList;
+import com.epam.engagement_system.service.otp.OtpStore;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,27 +16,32 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HexFormat;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-    private final TwilioSmsService twilioSmsService;
+    private final SmsService smsService;
+    private final TokenRevocationList tokenRevocationList;
+    private final OtpStore otpStore;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
-    private final Map<String, OTPEntity> otpStore = new ConcurrentHashMap<>();
+    private static final SecureRandom RANDOM = new SecureRandom();
 
     public void requestOTP(String phoneNumber) {
-        String otp = String.format("%06d", new SecureRandom().nextInt(1_000_000));
-        otpStore.put(phoneNumber, new OTPEntity(otp, Instant.now().plusSeconds(300)));
+        String otp = String.format("%06d", RANDOM.nextInt(1_000_000));
+        if (!otpStore.issue(phoneNumber, hash(phoneNumber, otp))) {
+            throw new OTPRateLimitException("Too many codes were requested for this phone number. Please try again later.");
+        }
 
         String message = "Your code for login: " + otp;
-        twilioSmsService.sendMessageAsync(phoneNumber, message);
-        logger.info("Request for OTP code was sent to Twilio API.");
+        smsService.sendMessageAsync(phoneNumber, message);
+        logger.info("Request for OTP code was sent to the SMS gateway.");
     }
 
     @Transactional
@@ -41,11 +49,9 @@ public class AuthService {
         String phoneNumber = request.phoneNumber();
         String submittedOtp = request.otp();
 
-        OTPEntity otpEntity = otpStore.get(phoneNumber);
-        if (otpEntity == null || Instant.now().isAfter(otpEntity.expiresAt()) || !otpEntity.code().equals(submittedOtp)) {
+        if (!otpStore.consume(phoneNumber, hash(phoneNumber, submittedOtp))) {
             throw new OTPNotFoundException("The code is not valid or has expired. Please try again.");
         }
-        otpStore.remove(phoneNumber);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(phoneNumber);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
@@ -56,5 +62,18 @@ public class AuthService {
         return new OTPVerificationResponse(jwtToken, "Bearer");
     }
 
-    record OTPEntity(String code, Instant expiresAt) {}
+    public void logout(Long userId) {
+        tokenRevocationList.revokeAll(userId);
+        logger.info("Tokens of user {} were revoked.", userId);
+    }
+
+    // Stores only see a hash of the code salted with the phone number, never the code itself.
+    static String hash(String phoneNumber, String otp) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((phoneNumber + ":" + otp).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.service.cache.DocumentPreviewCache;
+import com.epam.engagement_system.service.document.DocumentPreviewRenderer;
+import com.epam.engagement_system.service.document.DocumentType;
+import com.epam.engagement_system.util.ImageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class DocumentPreviewService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPreviewService.class);
+    // Cached for documents that have no preview, so they are not parsed again on every request. Failures are not
+    // cached: the loader returns null for them and the next request tries again.
+    private static final byte[] NO_PREVIEW = new byte[0];
+
+    private final FileStorageService fileStorageService;
+    private final List<DocumentPreviewRenderer> renderers;
+    private final DocumentPreviewCache previewCache;
+    private final int maxDimension;
+    private final float jpegQuality;
+
+    public DocumentPreviewService(FileStorageService fileStorageService,
+                                  List<DocumentPreviewRenderer> renderers,
+                                  DocumentPreviewCache previewCache,
+                                  @Value("${app.documents.preview-dimension:320}") int maxDimension,
+                                  @Value("${app.documents.preview-quality:0.7}") float jpegQuality) {
+        this.fileStorageService = fileStorageService;
+        this.renderers = renderers;
+        this.previewCache = previewCache;
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public byte[] getPreview(String documentPath) {
+        byte[] preview = previewCache.get(documentPath, this::loadOrRender);
+        if (preview == null || preview.length == 0) {
+            throw new ResourceNotFoundException("No preview available for this document");
+        }
+        return preview;
+    }
+
+    // Runs once the document has its final path, so the review screen does not have to wait for rendering.
+    // A request that failed before the document was promoted may have left a marker, which the stored preview replaces.
+    public void preparePreview(String documentPath) {
+        if (fileStorageService.findPreview(documentPath).isEmpty()) {
+            try {
+                if (render(documentPath).length == 0) {
+                    return;
+                }
+            } catch (Exception e) {
+                logger.warn("Could not render preview of {}: {}", documentPath, e.getMessage());
+                return;
+            }
+        }
+        previewCache.evict(documentPath);
+    }
+
+    public void evictPreview(String documentPath) {
+        previewCache.evict(documentPath);
+    }
+
+    // A preview is derived from its document only, so it changes exactly when the document does.
+    public String previewETag(String documentPath) {
+        String eTag = fileStorageService.documentETag(documentPath);
+        return eTag == null ? null : eTag.substring(0, eTag.length() - 1) + "-preview\"";
+    }
+
+    private byte[] loadOrRender(String documentPath) {
+        Optional<Path> stored = fileStorageService.findPreview(documentPath);
+        if (stored.isPresent()) {
+            try {
+                return Files.readAllBytes(stored.get());
+            } catch (IOException e) {
+                logger.warn("Could not read stored preview of {}, rendering it again: {}", documentPath, e.getMessage());
+            }
+        }
+        try {
+            return render(documentPath);
+        } catch (Exception e) {
+            logger.warn("Could not render preview of {}: {}", documentPath, e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns NO_PREVIEW only when the document type has no renderer or the renderer found nothing to show.
+    private byte[] render(String documentPath) throws IOException {
+        Optional<DocumentPreviewRenderer> renderer = DocumentType.fromPath(documentPath).flatMap(type ->
+                renderers.stream().filter(candidate -> candidate.supports(type)).findFirst());
+        if (renderer.isEmpty()) {
+            return NO_PREVIEW;
+        }
+
+        Optional<BufferedImage> image = renderer.get().renderFirstPage(fileStorageService.loadDocument(documentPath), maxDimension);
+        if (image.isEmpty()) {
+            return NO_PREVIEW;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageUtil.writeJpeg(image.get(), jpegQuality, out);
+        byte[] preview = out.toByteArray();
+        fileStorageService.storePreview(documentPath, previewOut -> previewOut.write(preview));
+        return preview;
+    }
+}
@@ -0,0 +1,139 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.repository.AppointmentRepository;
+import com.epam.engagement_system.service.document.DocumentOptimizer;
+import com.epam.engagement_system.service.document.DocumentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class DocumentProcessingService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentProcessingService.class);
+
+    private final DocumentProcessingService self;
+    private final AppointmentRepository appointmentRepository;
+    private final FileStorageService fileStorageService;
+    private final DocumentPreviewService documentPreviewService;
+    private final List<DocumentOptimizer> optimizers;
+    private final MeterRegistry meterRegistry;
+    private final long minSize;
+
+    public DocumentProcessingService(@Lazy DocumentProcessingService self,
+                                     AppointmentRepository appointmentRepository,
+                                     FileStorageService fileStorageService,
+                                     DocumentPreviewService documentPreviewService,
+                                     List<DocumentOptimizer> optimizers,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.documents.optimize-min-size:256KB}") DataSize minSize) {
+        this.self = self;
+        this.appointmentRepository = appointmentRepository;
+        this.fileStorageService = fileStorageService;
+        this.documentPreviewService = documentPreviewService;
+        this.optimizers = optimizers;
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize.toBytes();
+    }
+
+    // The booking does not wait for this. A full pool leaves the document as uploaded.
+    public void submit(Long appointmentId, String documentPath) {
+        try {
+            self.process(appointmentId, documentPath);
+        } catch (TaskRejectedException e) {
+            count("rejected");
+            logger.warn("Document processing queue is full, appointment {} keeps its original document", appointmentId);
+        }
+    }
+
+    @Async("documentExecutor")
+    public void process(Long appointmentId, String documentPath) {
+        documentPreviewService.preparePreview(optimize(appointmentId, documentPath));
+    }
+
+    @Transactional
+    public boolean replaceDocument(Long appointmentId, String oldDocumentPath, String newDocumentPath) {
+        return appointmentRepository.replaceDocumentPath(appointmentId, oldDocumentPath, newDocumentPath) > 0;
+    }
+
+    // Other appointments may have uploaded the same file and still point at it. The check and the delete happen
+    // under the document's lock, so a booking of the same file cannot slip in between them.
+    @Transactional
+    public void deleteIfUnreferenced(String documentPath) {
+        appointmentRepository.lockDocumentPath(documentPath);
+        if (!appointmentRepository.existsByDocumentPath(documentPath)) {
+            fileStorageService.deleteDocument(documentPath);
+            documentPreviewService.evictPreview(documentPath);
+        }
+    }
+
+    // Returns the path the appointment points at afterwards.
+    private String optimize(Long appointmentId, String documentPath) {
+        Optional<DocumentType> type = DocumentType.fromPath(documentPath);
+        Optional<DocumentOptimizer> optimizer = type.flatMap(documentType ->
+                optimizers.stream().filter(candidate -> candidate.supports(documentType)).findFirst());
+        if (optimizer.isEmpty()) {
+            count("unsupported");
+            return documentPath;
+        }
+
+        try {
+            Path original = fileStorageService.loadDocument(documentPath);
+            long originalSize = Files.size(original);
+            if (originalSize < minSize) {
+                count("small");
+                return documentPath;
+            }
+            FileStorageService.StagedDocument optimized = fileStorageService.stageDocument(type.get(),
+                    (OutputStream out) -> optimizer.get().optimize(original, type.get(), out));
+            if (optimized.size() >= originalSize) {
+                fileStorageService.discardStagedDocument(optimized);
+                count("kept");
+                return documentPath;
+            }
+
+            fileStorageService.promoteDocument(optimized);
+            if (!self.replaceDocument(appointmentId, documentPath, optimized.documentPath())) {
+                count("superseded");
+                return documentPath;
+            }
+            self.deleteIfUnreferenced(documentPath);
+            recordSize(type.get(), "original", originalSize);
+            recordSize(type.get(), "optimized", optimized.size());
+            count("optimized");
+            logger.info("Optimized document of appointment {} from {} to {} bytes", appointmentId, originalSize, optimized.size());
+            return optimized.documentPath();
+        } catch (Exception e) {
+            count("failed");
+            logger.warn("Could not optimize document {} of appointment {}: {}", documentPath, appointmentId, e.getMessage());
+            return documentPath;
+        }
+    }
+
+    private void recordSize(DocumentType type, String stage, long bytes) {
+        DistributionSummary.builder("documents.size")
+                .baseUnit("bytes")
+                .tag("type", type.name().toLowerCase())
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private void count(String outcome) {
+        Counter.builder("documents.optimization").tag("outcome", outcome).register(meterRegistry).increment();
+    }
+}
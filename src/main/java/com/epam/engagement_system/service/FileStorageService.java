@@ -3,80 +3,268 @@ package com.epam.engagement_system.service;
 import com.epam.engagement_system.configuration.FileStorageConfiguration;
 import com.epam.engagement_system.exception.storage.StorageException;
 import com.epam.engagement_system.exception.storage.StorageFileNotFoundException;
+import com.epam.engagement_system.service.document.DocumentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import org.springframework.util.function.ThrowingConsumer;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.Arrays;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
-    private static final List<String> ALLOWED_FILE_TYPES = Arrays.asList("image/jpeg", "image/png", "application/pdf");
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final Pattern DOCUMENT_PATH = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z]+");
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final char STAGED_NAME_SEPARATOR = '_';
+    private static final String PREVIEW_EXTENSION = ".jpg";
     private final Path rootLocation;
+    private final Path reportLocation;
+    private final Path stagingLocation;
+    private final Path previewLocation;
+    private final Duration stagingRetention;
 
-    public FileStorageService(FileStorageConfiguration properties) {
+    public FileStorageService(FileStorageConfiguration properties,
+                              @Value("${app.storage.staging-retention:PT1H}") Duration stagingRetention) {
         this.rootLocation = Paths.get(properties.getUploadDirectory()).toAbsolutePath().normalize();
+        this.reportLocation = rootLocation.resolve("reports");
+        this.stagingLocation = rootLocation.resolve("staging");
+        this.previewLocation = rootLocation.resolve("previews");
+        this.stagingRetention = stagingRetention;
         try {
-            Files.createDirectories(rootLocation);
+            Files.createDirectories(reportLocation);
+            Files.createDirectories(stagingLocation);
+            Files.createDirectories(previewLocation);
         } catch (IOException e) {
             throw new StorageException("Could not initialize storage location", e);
         }
     }
 
-    public String store(MultipartFile file) {
+    // Writes the upload to the staging area and hashes it on the way, so the file is read exactly once.
+    // The document only becomes downloadable once it is promoted to its content-addressed path.
+    public StagedDocument stageDocument(MultipartFile file) {
         if (file.isEmpty()) {
             throw new StorageException("Failed to store empty file.");
         }
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_FILE_TYPES.contains(contentType)) {
-            throw new StorageException("Invalid file type. Only JPG, PNG, and PDF are allowed.");
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
+            inputStream.mark(DocumentType.HEADER_LENGTH);
+            byte[] header = inputStream.readNBytes(DocumentType.HEADER_LENGTH);
+            inputStream.reset();
+            DocumentType type = DocumentType.sniff(header)
+                    .orElseThrow(() -> new StorageException("Invalid file type. Only JPG, PNG, and PDF are allowed."));
+
+            StagedDocument document = stageDocument(type, inputStream::transferTo);
+            logger.info("Successfully staged file {} as {}", file.getName(), document.documentPath());
+            return document;
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file.", e);
         }
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
+    }
 
-        String fileExtension = "";
+    public StagedDocument stageDocument(DocumentType type, ThrowingConsumer<OutputStream> content) {
+        String stagingId = UUID.randomUUID().toString();
+        Path partialFile = resolveStaged(stagingId + PARTIAL_SUFFIX);
         try {
-            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        } catch (Exception ignored) {}
-
-        String storedFilename = UUID.randomUUID() + fileExtension;
-        try (InputStream inputStream = file.getInputStream()) {
-            Path destinationFile = this.rootLocation.resolve(Paths.get(storedFilename)).normalize();
-            if (!destinationFile.startsWith(this.rootLocation)) {
-                throw new StorageException("Cannot store file outside current directory.");
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(partialFile)), digest)) {
+                content.acceptWithException(out);
             }
-            Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Successfully stored file {} in {}", file.getName(), rootLocation.getRoot());
-            return storedFilename;
-        } catch (IOException e) {
+            String documentPath = toDocumentPath(HexFormat.of().formatHex(digest.digest()), type.getExtension());
+            String stagedFile = stagingId + STAGED_NAME_SEPARATOR + documentPath.substring(documentPath.lastIndexOf('/') + 1);
+            Path destinationFile = resolveStaged(stagedFile);
+            Files.move(partialFile, destinationFile, StandardCopyOption.ATOMIC_MOVE);
+            return new StagedDocument(stagedFile, documentPath, Files.size(destinationFile));
+        } catch (Exception e) {
+            deleteQuietly(partialFile);
             throw new StorageException("Failed to store file.", e);
         }
     }
 
-    public Resource downloadFile(String filename) {
+    // Identical documents share one file, so promoting a document that is already stored only drops the staged copy.
+    public void promoteDocument(StagedDocument document) {
+        Path stagedFile = resolveStaged(document.stagedFile());
+        Path destinationFile = resolveDocument(document.documentPath());
+        try {
+            if (Files.exists(destinationFile)) {
+                Files.delete(stagedFile);
+                logger.info("Document {} was already stored, dropped the duplicate upload", document.documentPath());
+                return;
+            }
+            Files.createDirectories(destinationFile.getParent());
+            Files.move(stagedFile, destinationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new StorageException("Failed to promote staged file " + document.stagedFile(), e);
+        }
+    }
+
+    public void discardStagedDocument(StagedDocument document) {
+        deleteQuietly(resolveStaged(document.stagedFile()));
+    }
+
+    public void deleteDocument(String documentPath) {
+        deleteQuietly(resolveDocument(documentPath));
+        deleteQuietly(resolvePreview(documentPath));
+    }
+
+    // Files that were still being written have no document path yet.
+    public List<StagedDocument> findStaleStagedDocuments() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(stagingRetention));
+        List<StagedDocument> staleDocuments = new ArrayList<>();
+        try (DirectoryStream<Path> stagedFiles = Files.newDirectoryStream(stagingLocation)) {
+            for (Path stagedFile : stagedFiles) {
+                if (Files.getLastModifiedTime(stagedFile).compareTo(cutoff) < 0) {
+                    String name = stagedFile.getFileName().toString();
+                    int separator = name.indexOf(STAGED_NAME_SEPARATOR);
+                    String documentPath = separator < 0 ? null : toDocumentPath(name.substring(separator + 1));
+                    staleDocuments.add(new StagedDocument(name, documentPath, Files.size(stagedFile)));
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not list staged files", e);
+        }
+        return staleDocuments;
+    }
+
+    // Content-addressed documents never change, so their digest is a strong ETag. Older documents stored under a
+    // random name have none.
+    public String documentETag(String documentPath) {
+        Matcher matcher = DOCUMENT_PATH.matcher(documentPath);
+        return matcher.matches() ? "\"" + matcher.group(1) + "\"" : null;
+    }
+
+    public Path loadDocument(String documentPath) {
+        Path file = resolveDocument(documentPath);
+        if (!Files.isReadable(file)) {
+            throw new StorageFileNotFoundException("Could not read file: " + documentPath);
+        }
+        return file;
+    }
+
+    public Optional<Path> findPreview(String documentPath) {
+        Path file = resolvePreview(documentPath);
+        return Files.isReadable(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // Previews live under the same relative path as their document, so a content-addressed document has one preview.
+    public void storePreview(String documentPath, ThrowingConsumer<OutputStream> content) {
+        Path destinationFile = resolvePreview(documentPath);
+        Path partialFile = destinationFile.resolveSibling(UUID.randomUUID() + PARTIAL_SUFFIX);
         try {
-            Path file = rootLocation.resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
-            if (resource.exists() || resource.isReadable()) {
-                logger.info("Successfully sent file {} to download", file.getFileName());
-                return resource;
+            Files.createDirectories(destinationFile.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partialFile))) {
+                content.acceptWithException(out);
             }
-            throw new StorageFileNotFoundException("Could not read file: " + filename);
-        } catch (MalformedURLException e) {
-            throw new StorageFileNotFoundException("Could not read file: " + filename);
+            Files.move(partialFile, destinationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            deleteQuietly(partialFile);
+            throw new StorageException("Failed to store preview of " + documentPath, e);
         }
     }
+
+    public long storeReport(String filename, ThrowingConsumer<OutputStream> content) {
+        Path destinationFile = resolveReport(filename);
+        Path partialFile = destinationFile.resolveSibling(filename + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partialFile))) {
+                content.acceptWithException(out);
+            }
+            Files.move(partialFile, destinationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(destinationFile);
+            logger.info("Successfully stored report {} ({} bytes)", filename, size);
+            return size;
+        } catch (Exception e) {
+            deleteQuietly(partialFile);
+            throw new StorageException("Failed to store report " + filename, e);
+        }
+    }
+
+    public Resource loadReport(String filename) {
+        Path file = resolveReport(filename);
+        if (!Files.isReadable(file)) {
+            throw new StorageFileNotFoundException("Could not read report: " + filename);
+        }
+        return new FileSystemResource(file);
+    }
+
+    public void deleteReport(String filename) {
+        deleteQuietly(resolveReport(filename));
+    }
+
+    private Path resolveDocument(String documentPath) {
+        Path file = rootLocation.resolve(documentPath).normalize();
+        if (!file.startsWith(rootLocation)) {
+            throw new StorageException("Cannot store file outside current directory.");
+        }
+        return file;
+    }
+
+    private static String toDocumentPath(String digest, String extension) {
+        return digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + extension;
+    }
+
+    private static String toDocumentPath(String filename) {
+        return toDocumentPath(filename.substring(0, filename.indexOf('.')), filename.substring(filename.indexOf('.')));
+    }
+
+    private Path resolveStaged(String filename) {
+        Path file = stagingLocation.resolve(filename).normalize();
+        if (!file.startsWith(stagingLocation)) {
+            throw new StorageException("Cannot access file outside staging directory.");
+        }
+        return file;
+    }
+
+    private Path resolvePreview(String documentPath) {
+        int extension = documentPath.lastIndexOf('.');
+        String previewPath = (extension > documentPath.lastIndexOf('/') ? documentPath.substring(0, extension) : documentPath) + PREVIEW_EXTENSION;
+        Path file = previewLocation.resolve(previewPath).normalize();
+        if (!file.startsWith(previewLocation)) {
+            throw new StorageException("Cannot access preview outside preview directory.");
+        }
+        return file;
+    }
+
+    private Path resolveReport(String filename) {
+        Path file = reportLocation.resolve(filename).normalize();
+        if (!file.startsWith(reportLocation)) {
+            throw new StorageException("Cannot access report outside report directory.");
+        }
+        return file;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete file {}: {}", file, e.getMessage());
+        }
+    }
+
+    public record StagedDocument(String stagedFile, String documentPath, long size) {}
 }
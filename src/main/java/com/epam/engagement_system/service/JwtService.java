@@ -1,34 +1,60 @@
 package com.epam.engagement_system.service;
 
+import com.epam.engagement_system.security.TokenRevocationList;
 import com.epam.engagement_system.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class JwtService {
-    @Value("${app.jwt.secret}")
-    private String jwtSecretKey;
+    private final long expirationMilliSeconds;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final TokenRevocationList tokenRevocationList;
 
-    @Value("${app.jwt.expiration-ms}")
-    private long expirationMilliSeconds;
-    private SecretKey key;
-
-    @PostConstruct
-    private void init() {
+    public JwtService(@Value("${app.jwt.secret}") String jwtSecretKey,
+                      @Value("${app.jwt.expiration-ms}") long expirationMilliSeconds,
+                      @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+                      MeterRegistry meterRegistry,
+                      TokenRevocationList tokenRevocationList) {
+        this.expirationMilliSeconds = expirationMilliSeconds;
+        this.tokenRevocationList = tokenRevocationList;
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String tokenHash, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -47,20 +73,53 @@ public class JwtService {
                 .compact();
     }
 
-    public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies the signature once per token; requests repeating a token get the principal built the first time.
+    public Optional<UserPrincipal> authenticate(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(tokenHash);
+        if (verified == null || !verified.expiresAt().isAfter(Instant.now())) {
+            Claims claims;
+            try {
+                claims = extractClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(toPrincipal(claims), toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()));
+            if (verified.expiresAt() != null) {
+                verifiedTokens.put(tokenHash, verified);
+            }
+        }
+
+        if (tokenRevocationList.isRevoked(verified.principal().getId(), verified.issuedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(verified.principal());
+    }
+
+    private Claims extractClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean isTokenValid(String token) {
+    @SuppressWarnings("unchecked")
+    private UserPrincipal toPrincipal(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        List<SimpleGrantedAuthority> authorities = roles == null ? List.of()
+                : roles.stream().map(SimpleGrantedAuthority::new).toList();
+        return new UserPrincipal(claims.get("id", Long.class), claims.getSubject(), authorities);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
+
+    private record VerifiedToken(UserPrincipal principal, Instant issuedAt, Instant expiresAt) {}
 }
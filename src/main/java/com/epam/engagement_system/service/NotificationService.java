@@ -2,41 +2,61 @@ package com.epam.engagement_system.service;
 
 import com.epam.engagement_system.domain.ApplicationUser;
 import com.epam.engagement_system.domain.Notification;
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
 import com.epam.engagement_system.domain.enums.RoleType;
 import com.epam.engagement_system.dto.NotificationResponse;
 import com.epam.engagement_system.repository.NotificationRepository;
 import com.epam.engagement_system.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class NotificationService {
     private final NotificationService self;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final TwilioSmsService twilioSmsService;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final Duration adminIdsTtl;
+    private final Duration adminDigestWindow;
+    private final String adminReviewLink;
+    private volatile AdminIds adminIds;
 
     public NotificationService(@Lazy NotificationService self,
                                NotificationRepository notificationRepository,
                                UserRepository userRepository,
-                               SimpMessagingTemplate messagingTemplate,
-                               TwilioSmsService twilioSmsService) {
+                               OutboxService outboxService,
+                               ObjectMapper objectMapper,
+                               @Value("${app.notifications.admin-ids-ttl:PT5M}") Duration adminIdsTtl,
+                               @Value("${app.notifications.admin-digest-window:PT5S}") Duration adminDigestWindow,
+                               @Value("${app.notifications.admin-review-link:/admin/appointments?status=PENDING}") String adminReviewLink) {
         this.self = self;
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
-        this.messagingTemplate = messagingTemplate;
-        this.twilioSmsService = twilioSmsService;
+        this.outboxService = outboxService;
+        this.objectMapper = objectMapper;
+        this.adminIdsTtl = adminIdsTtl;
+        this.adminDigestWindow = adminDigestWindow;
+        this.adminReviewLink = adminReviewLink;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final String ADMIN_TOPIC = "/topic/admin/new-appointments";
+
+    private record AdminIds(List<Long> ids, Instant loadedAt) {}
 
     @Transactional(readOnly = true)
     public List<NotificationResponse> findByUserId(Long userId) {
@@ -48,24 +68,43 @@ public class NotificationService {
                 .toList();
     }
 
+    @Transactional
     public void createAndSendNotification(ApplicationUser user, String message) {
         Notification notification = self.saveNotification(user, message);
         NotificationResponse response = new NotificationResponse(
                 notification.getId(), notification.getMessage(), notification.isRead(), notification.getCreatedAt()
         );
-        self.sendUserNotificationAsync(response, user.getPhoneNumber());
-        logger.info("Notification for user {} was created. Requested sending.", user.getId());
+        outboxService.enqueue(OutboxChannel.USER_QUEUE, user.getPhoneNumber(), toJson(response),
+                "notification:" + notification.getId() + ":websocket");
+        outboxService.enqueue(OutboxChannel.SMS, user.getPhoneNumber(), notification.getMessage(),
+                "notification:" + notification.getId() + ":sms");
+        logger.info("Notification for user {} was created. Delivery was added to the outbox.", user.getId());
     }
 
+    // Every message of a digest window becomes due at the end of that window, so the dispatcher claims them together.
+    @Transactional
     public void createAndSendAdminNotifications(String message) {
-        List<ApplicationUser> admins = userRepository.findByRoles_Name(RoleType.ADMIN);
-
-        admins.forEach(admin -> {
-            self.saveNotification(admin, message);
-            logger.info("Notification for admin {} was created. Requested sending.", admin.getId());
-        });
+        long windowMillis = adminDigestWindow.toMillis();
+        long windowEnd = (Instant.now().toEpochMilli() / windowMillis + 1) * windowMillis;
+        outboxService.enqueue(OutboxChannel.ADMIN_DIGEST, ADMIN_TOPIC, message, "admin-message:" + UUID.randomUUID(),
+                Instant.ofEpochMilli(windowEnd));
+        logger.info("Admin notification was added to the outbox for the next digest.");
+    }
 
-        self.sendAdminTopicNotificationAsync(message);
+    // The digest and the delivered messages commit together, so a retry never notifies the admins twice.
+    @Transactional
+    public void deliverAdminDigest(List<OutboxMessage> messages) {
+        String digest = toDigest(messages.stream().map(OutboxMessage::getPayload).toList());
+        List<Long> adminIds = getAdminIds();
+        List<Notification> notifications = adminIds.stream()
+                .map(adminId -> new Notification(userRepository.getReferenceById(adminId), digest))
+                .toList();
+        notificationRepository.saveAll(notifications);
+        List<Long> messageIds = messages.stream().map(OutboxMessage::getId).toList();
+        outboxService.enqueue(OutboxChannel.TOPIC, ADMIN_TOPIC, digest, "admin-digest:" + messageIds.getFirst());
+        outboxService.markSent(messageIds);
+        logger.info("Notification digest of {} messages was created for {} admins. Delivery was added to the outbox.",
+                messages.size(), adminIds.size());
     }
 
     @Transactional
@@ -75,19 +114,29 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
 
-    @Async("asyncExecutor")
-    public void sendUserNotificationAsync(NotificationResponse notification, String phoneNumber) {
-        logger.info("Asynchronously sending notification {} to websocket and SMS", notification.id());
-
-        messagingTemplate.convertAndSendToUser(phoneNumber, "/queue/notifications", notification);
-        twilioSmsService.sendMessageAsync(phoneNumber, notification.message());
+    private List<Long> getAdminIds() {
+        AdminIds cached = adminIds;
+        if (cached == null || cached.loadedAt().plus(adminIdsTtl).isBefore(Instant.now())) {
+            cached = new AdminIds(List.copyOf(userRepository.findIdsByRoleName(RoleType.ADMIN)), Instant.now());
+            adminIds = cached;
+        }
+        return cached.ids();
     }
 
+    private String toJson(NotificationResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification " + response.id(), e);
+        }
+    }
 
-    @Async("asyncExecutor")
-    public void sendAdminTopicNotificationAsync(String message) {
-        logger.info("Creating admin notification message: {}", message);
-        messagingTemplate.convertAndSend("/topic/admin/new-appointments", message);
+    // A burst is summarized rather than cut off mid-message. The review queue lists every application.
+    private String toDigest(List<String> messages) {
+        if (messages.size() == 1 && messages.getFirst().length() <= MAX_MESSAGE_LENGTH) {
+            return messages.getFirst();
+        }
+        return messages.size() + " new notifications are waiting for review: " + adminReviewLink;
     }
 
     @Transactional
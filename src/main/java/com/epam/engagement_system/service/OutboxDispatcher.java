@@ -0,0 +1,172 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.dto.NotificationResponse;
+import com.epam.engagement_system.util.ExecutorInstrumentation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+@Service
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final String USER_QUEUE_DESTINATION = "/queue/notifications";
+
+    private final OutboxService outboxService;
+    private final NotificationService notificationService;
+    private final SmsService smsService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor outboxExecutor;
+    private final ExecutorInstrumentation asyncExecutorInstrumentation;
+    private final MeterRegistry meterRegistry;
+    private final Counter deferredSms;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration smsDeferral;
+    private volatile boolean degraded;
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            NotificationService notificationService,
+                            SmsService smsService,
+                            SimpMessagingTemplate messagingTemplate,
+                            ObjectMapper objectMapper,
+                            @Qualifier("outboxExecutor") Executor outboxExecutor,
+                            @Qualifier("asyncExecutorInstrumentation") ExecutorInstrumentation asyncExecutorInstrumentation,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:50}") int batchSize,
+                            @Value("${app.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                            @Value("${app.outbox.sms-deferral:PT30S}") Duration smsDeferral) {
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+        this.smsService = smsService;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxExecutor = outboxExecutor;
+        this.asyncExecutorInstrumentation = asyncExecutorInstrumentation;
+        this.meterRegistry = meterRegistry;
+        this.deferredSms = Counter.builder("notifications.deferred").tag("channel", "sms").register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.smsDeferral = smsDeferral;
+        Gauge.builder("notifications.degraded", this, dispatcher -> dispatcher.degraded ? 1 : 0).register(meterRegistry);
+    }
+
+    // A backlog is drained over several polls so one tick never holds a scheduler thread for long.
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        List<OutboxMessage> batch;
+        int batches = 0;
+        do {
+            batch = outboxService.claimDueMessages(batchSize);
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize && ++batches < maxBatchesPerPoll);
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        // Login codes share the SMS provider with notifications, so notification SMS step aside while it is saturated.
+        boolean deferSms = updateDegradedMode();
+        List<Long> deferred = new ArrayList<>();
+        Queue<Long> sent = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(batch.size());
+        List<OutboxMessage> adminMessages = batch.stream()
+                .filter(message -> message.getChannel() == OutboxChannel.ADMIN_DIGEST)
+                .toList();
+        if (!adminMessages.isEmpty()) {
+            deliverAdminDigest(adminMessages);
+        }
+        for (OutboxMessage message : batch) {
+            if (message.getChannel() == OutboxChannel.ADMIN_DIGEST) {
+                continue;
+            }
+            if (deferSms && message.getChannel() == OutboxChannel.SMS) {
+                deferred.add(message.getId());
+                continue;
+            }
+            deliveries.add(CompletableFuture.runAsync(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    send(message);
+                    sent.add(message.getId());
+                    recordDelivery(message.getChannel(), "sent", startedAt);
+                } catch (Exception e) {
+                    recordDelivery(message.getChannel(), "failed", startedAt);
+                    outboxService.markFailed(message.getId(), e.getMessage());
+                }
+            }, outboxExecutor));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+
+        outboxService.markSent(sent);
+        if (!deferred.isEmpty()) {
+            outboxService.defer(deferred, smsDeferral);
+            deferredSms.increment(deferred.size());
+        }
+        logger.info("Outbox batch of {} messages dispatched, {} delivered, {} SMS deferred", batch.size(), sent.size(), deferred.size());
+    }
+
+    // Admin messages of one window are coalesced into a single notification per admin.
+    private void deliverAdminDigest(List<OutboxMessage> adminMessages) {
+        long startedAt = System.nanoTime();
+        try {
+            notificationService.deliverAdminDigest(adminMessages);
+            recordDelivery(OutboxChannel.ADMIN_DIGEST, "sent", startedAt);
+        } catch (Exception e) {
+            recordDelivery(OutboxChannel.ADMIN_DIGEST, "failed", startedAt);
+            adminMessages.forEach(message -> outboxService.markFailed(message.getId(), e.getMessage()));
+        }
+    }
+
+    private boolean updateDegradedMode() {
+        boolean saturated = smsService.isSaturated() || asyncExecutorInstrumentation.isSaturated();
+        if (saturated != degraded) {
+            degraded = saturated;
+            if (saturated) {
+                logger.warn("SMS sending is saturated, notification SMS are deferred by {}", smsDeferral);
+            } else {
+                logger.info("SMS sending recovered, notification SMS are delivered again");
+            }
+        }
+        return saturated;
+    }
+
+    private void recordDelivery(OutboxChannel channel, String outcome, long startedAt) {
+        Timer.builder("notifications.delivery")
+                .tag("channel", channel.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private void send(OutboxMessage message) throws JsonProcessingException {
+        switch (message.getChannel()) {
+            case SMS -> smsService.sendMessage(message.getDestination(), message.getPayload());
+            case USER_QUEUE -> messagingTemplate.convertAndSendToUser(message.getDestination(), USER_QUEUE_DESTINATION,
+                    objectMapper.readValue(message.getPayload(), NotificationResponse.class));
+            case TOPIC -> messagingTemplate.convertAndSend(message.getDestination(), message.getPayload());
+            case ADMIN_DIGEST -> throw new IllegalStateException("Admin messages are delivered as a digest");
+        }
+    }
+}
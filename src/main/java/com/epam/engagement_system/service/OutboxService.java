@@ -0,0 +1,113 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.domain.enums.OutboxStatus;
+import com.epam.engagement_system.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class OutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final int maxAttempts;
+    private final Duration sentRetention;
+
+    public OutboxService(OutboxMessageRepository outboxMessageRepository,
+                         @Value("${app.outbox.lease:PT1M}") Duration lease,
+                         @Value("${app.outbox.retry-backoff:PT5S}") Duration retryBackoff,
+                         @Value("${app.outbox.max-retry-backoff:PT10M}") Duration maxRetryBackoff,
+                         @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+                         @Value("${app.outbox.sent-retention:P7D}") Duration sentRetention) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.sentRetention = sentRetention;
+    }
+
+    // Runs in the caller's transaction so the message is stored if and only if the change it announces is.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxChannel channel, String destination, String payload, String idempotencyKey) {
+        enqueue(channel, destination, payload, idempotencyKey, Instant.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxChannel channel, String destination, String payload, String idempotencyKey, Instant dueAt) {
+        OutboxMessage message = new OutboxMessage(channel, destination, payload, idempotencyKey);
+        message.setNextAttemptAt(dueAt);
+        outboxMessageRepository.save(message);
+    }
+
+    // Claimed messages are pushed past the lease, so a dispatcher that dies mid-delivery only delays them.
+    @Transactional
+    public List<OutboxMessage> claimDueMessages(int batchSize) {
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = outboxMessageRepository.lockDueMessages(now, batchSize);
+        messages.forEach(message -> {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        });
+        return messages;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> messageIds) {
+        if (!messageIds.isEmpty()) {
+            outboxMessageRepository.markSent(messageIds, Instant.now());
+        }
+    }
+
+    @Transactional
+    public void defer(Collection<Long> messageIds, Duration delay) {
+        if (!messageIds.isEmpty()) {
+            outboxMessageRepository.defer(messageIds, Instant.now().plus(delay));
+        }
+    }
+
+    @Transactional
+    public void markFailed(Long messageId, String error) {
+        outboxMessageRepository.findById(messageId).ifPresent(message -> {
+            message.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(OutboxStatus.FAILED);
+                logger.error("Outbox message {} ({}) failed after {} attempts: {}", messageId, message.getChannel(), message.getAttempts(), error);
+                return;
+            }
+            message.setNextAttemptAt(Instant.now().plus(backoff(message.getAttempts())));
+            logger.warn("Outbox message {} ({}) failed on attempt {}, retrying at {}: {}",
+                    messageId, message.getChannel(), message.getAttempts(), message.getNextAttemptAt(), error);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+    @Transactional
+    public void purgeSentMessages() {
+        int deleted = outboxMessageRepository.deleteSentBefore(Instant.now().minus(sentRetention));
+        if (deleted > 0) {
+            logger.info("Purged {} delivered outbox messages", deleted);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+}
@@ -0,0 +1,233 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.ReportJob;
+import com.epam.engagement_system.domain.enums.ReportJobStatus;
+import com.epam.engagement_system.dto.report.ReportJobResponse;
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.exception.report.ReportQueueFullException;
+import com.epam.engagement_system.repository.ReportJobRepository;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+    private static final String PROGRESS_TOPIC = "/topic/admin/reports";
+    private static final int PROGRESS_PUBLISH_INTERVAL = 1000;
+
+    private final ReportJobService self;
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final AppointmentService appointmentService;
+    private final FileStorageService fileStorageService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ReportDataVersions reportDataVersions;
+    private final Duration retention;
+    private final Duration staleAfter;
+    private final Map<Long, AtomicLong> runningProgress = new ConcurrentHashMap<>();
+    private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+    public ReportJobService(@Lazy ReportJobService self,
+                            ReportJobRepository reportJobRepository,
+                            ReportService reportService,
+                            AppointmentService appointmentService,
+                            FileStorageService fileStorageService,
+                            SimpMessagingTemplate messagingTemplate,
+                            ReportDataVersions reportDataVersions,
+                            @Value("${app.reports.retention:PT24H}") Duration retention,
+                            @Value("${app.reports.stale-after:PT2M}") Duration staleAfter) {
+        this.self = self;
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.appointmentService = appointmentService;
+        this.fileStorageService = fileStorageService;
+        this.messagingTemplate = messagingTemplate;
+        this.reportDataVersions = reportDataVersions;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+    }
+
+    public ReportJobResponse submit(String format, LocalDate startDate, LocalDate endDate) {
+        ReportService.ReportDescription report = reportService.describeReport(format, startDate, endDate);
+        String normalizedFormat = format.toLowerCase(Locale.ROOT);
+        long dataVersion = reportDataVersions.versionOf(startDate, endDate);
+
+        Optional<ReportJob> reusable = reportJobRepository.findReusable(normalizedFormat, startDate, endDate, dataVersion, Instant.now());
+        if (reusable.isPresent()) {
+            logger.info("Reusing report job {} for {} report from {} to {}", reusable.get().getId(), normalizedFormat, startDate, endDate);
+            return toResponse(reusable.get());
+        }
+
+        ReportJob newJob = new ReportJob(normalizedFormat, startDate, endDate, report.fileName(), report.contentType());
+        newJob.setDataVersion(dataVersion);
+        ReportJob job;
+        try {
+            job = reportJobRepository.save(newJob);
+        } catch (DataIntegrityViolationException e) {
+            // Another submission for the same report inserted its job first, on this node or another one.
+            ReportJob winner = reportJobRepository.findReusable(normalizedFormat, startDate, endDate, dataVersion, Instant.now())
+                    .orElseThrow(() -> e);
+            logger.info("Reusing concurrently submitted report job {}", winner.getId());
+            return toResponse(winner);
+        }
+        localJobs.add(job.getId());
+        try {
+            self.render(job.getId());
+        } catch (TaskRejectedException e) {
+            localJobs.remove(job.getId());
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage("Report queue is full.");
+            job.setExpiresAt(Instant.now().plus(retention));
+            reportJobRepository.save(job);
+            throw new ReportQueueFullException("Too many reports are being generated. Please try again later.");
+        }
+        logger.info("Queued report job {} for {} report from {} to {}", job.getId(), normalizedFormat, startDate, endDate);
+
+        ReportJobResponse response = toResponse(job);
+        publish(response);
+        return response;
+    }
+
+    @Async("reportExecutor")
+    public void render(Long jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.warn("Report job {} disappeared before it was rendered", jobId);
+            return;
+        }
+
+        AtomicLong processedRows = new AtomicLong();
+        runningProgress.put(jobId, processedRows);
+        try {
+            job.setTotalRows(appointmentService.countAppointmentsForReport(job.getStartDate(), job.getEndDate()));
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setHeartbeatAt(Instant.now());
+            job = reportJobRepository.save(job);
+            publish(toResponse(job));
+
+            ReportJob runningJob = job;
+            ReportService.Report report = reportService.generateReport(job.getFormat(), job.getStartDate(), job.getEndDate(),
+                    rows -> {
+                        processedRows.set(rows);
+                        if (rows % PROGRESS_PUBLISH_INTERVAL == 0) {
+                            publish(toResponse(runningJob));
+                        }
+                    });
+
+            String storedFile = jobId + "-" + report.fileName();
+            job.setFileSize(fileStorageService.storeReport(storedFile, report.body()::writeTo));
+            job.setStoredFile(storedFile);
+            job.setStatus(ReportJobStatus.COMPLETED);
+            logger.info("Report job {} completed with {} rows", jobId, processedRows.get());
+        } catch (Exception e) {
+            logger.error("Report job {} failed: {}", jobId, e.getMessage(), e);
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage("Report generation failed.");
+        } finally {
+            runningProgress.remove(jobId);
+            localJobs.remove(jobId);
+        }
+
+        Instant now = Instant.now();
+        job.setProcessedRows(processedRows.get());
+        job.setCompletedAt(now);
+        job.setExpiresAt(now.plus(retention));
+        job = reportJobRepository.save(job);
+        publish(toResponse(job));
+    }
+
+    @Transactional(readOnly = true)
+    public ReportJobResponse getJob(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public ReportFile getReportFile(Long jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED || job.getExpiresAt().isBefore(Instant.now())) {
+            throw new ResourceNotFoundException("No completed report for job with id: " + jobId);
+        }
+        Resource resource = fileStorageService.loadReport(job.getStoredFile());
+        return new ReportFile(job.getFileName(), job.getContentType(), resource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-interval:PT15M}")
+    public void deleteExpiredReports() {
+        List<ReportJob> expiredJobs = reportJobRepository.findByExpiresAtBefore(Instant.now());
+        if (expiredJobs.isEmpty()) {
+            return;
+        }
+        expiredJobs.stream()
+                .filter(job -> job.getStoredFile() != null)
+                .forEach(job -> fileStorageService.deleteReport(job.getStoredFile()));
+        reportJobRepository.deleteAllInBatch(expiredJobs);
+        logger.info("Deleted {} expired report jobs", expiredJobs.size());
+    }
+
+    // Jobs queued on this node stay alive while it runs. Jobs of a node that crashed or restarted stop being touched
+    // and are failed by whichever node notices first.
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.reports.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        if (!localJobs.isEmpty()) {
+            reportJobRepository.touchHeartbeats(List.copyOf(localJobs), now);
+        }
+        int interrupted = reportJobRepository.failStale(now.minus(staleAfter), now, now.plus(retention),
+                "Report generation was interrupted.");
+        if (interrupted > 0) {
+            logger.warn("Marked {} interrupted report jobs as failed", interrupted);
+        }
+    }
+
+    private ReportJob findJob(Long jobId) {
+        return reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+    }
+
+    private void publish(ReportJobResponse response) {
+        messagingTemplate.convertAndSend(PROGRESS_TOPIC, response);
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        AtomicLong running = runningProgress.get(job.getId());
+        long processedRows = running != null ? running.get() : job.getProcessedRows();
+
+        int progressPercent;
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            progressPercent = 100;
+        } else if (job.getTotalRows() == null || job.getTotalRows() == 0) {
+            progressPercent = 0;
+        } else {
+            progressPercent = (int) Math.min(99, processedRows * 100 / job.getTotalRows());
+        }
+
+        return new ReportJobResponse(job.getId(), job.getFormat(), job.getStartDate(), job.getEndDate(), job.getStatus(),
+                processedRows, job.getTotalRows(), progressPercent, job.getErrorMessage(),
+                job.getCreatedAt(), job.getCompletedAt(), job.getExpiresAt());
+    }
+
+    public record ReportFile(String fileName, String contentType, Resource resource) {}
+}
@@ -1,37 +1,93 @@
 package com.epam.engagement_system.service;
 
-import com.epam.engagement_system.domain.Appointment;
+import com.epam.engagement_system.exception.report.InvalidReportRequestException;
+import com.epam.engagement_system.service.cache.ReportCache;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
 import com.epam.engagement_system.service.report.ReportGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
 @Service
 public class ReportService {
     private final ReportGenerator pdfGenerator;
     private final ReportGenerator excelGenerator;
     private final AppointmentService appointmentService;
+    private final ReportCache reportCache;
+    private final ReportDataVersions reportDataVersions;
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
 
     public ReportService(@Qualifier("pdfReportGenerator") ReportGenerator pdfGenerator,
                          @Qualifier("excelReportGenerator") ReportGenerator excelGenerator,
-                         AppointmentService appointmentService) {
+                         AppointmentService appointmentService,
+                         ReportCache reportCache,
+                         ReportDataVersions reportDataVersions) {
         this.pdfGenerator = pdfGenerator;
         this.excelGenerator = excelGenerator;
         this.appointmentService = appointmentService;
+        this.reportCache = reportCache;
+        this.reportDataVersions = reportDataVersions;
     }
 
+    // Everything that can be rejected is checked before the body is built. Once the body streams, the status and
+    // headers are already on the wire.
     public Report generateReport(String format, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
         ReportGenerator generator = getGenerator(format);
-        List<Appointment> appointments = appointmentService.getAppointmentsForReport(startDate, endDate);
+        ReportCache.Key key = new ReportCache.Key(format, startDate, endDate, reportDataVersions.versionOf(startDate, endDate));
+
+        byte[] cachedReport = reportCache.get(key);
+        StreamingResponseBody body;
+        if (cachedReport != null) {
+            logger.info("Serving {} report from {} to {} from cache", format, startDate, endDate);
+            body = out -> out.write(cachedReport);
+        } else {
+            body = out -> reportCache.writeThrough(key, out,
+                    cacheOut -> writeReport(generator, startDate, endDate, cacheOut, rowsWritten -> {}));
+        }
+
+        return new Report(getFileName(generator, startDate, endDate), body, generator.getContentType());
+    }
 
-        String fileName = String.format("appointments-report_%s_to_%s%s", startDate, endDate, generator.getFilenameExtension());
-        ByteArrayInputStream reportFile = generator.generate(appointments, startDate, endDate);
-        String contentType = generator.getContentType();
+    public ReportDescription describeReport(String format, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        ReportGenerator generator = getGenerator(format);
+        return new ReportDescription(getFileName(generator, startDate, endDate), generator.getContentType());
+    }
+
+    public Report generateReport(String format, LocalDate startDate, LocalDate endDate, LongConsumer progressListener) {
+        validatePeriod(startDate, endDate);
+        ReportGenerator generator = getGenerator(format);
+        StreamingResponseBody body = out -> writeReport(generator, startDate, endDate, out, progressListener);
 
-        return new Report(fileName, reportFile, contentType);
+        return new Report(getFileName(generator, startDate, endDate), body, generator.getContentType());
+    }
+
+    private void writeReport(ReportGenerator generator, LocalDate startDate, LocalDate endDate,
+                             OutputStream out, LongConsumer progressListener) {
+        appointmentService.streamAppointmentsForReport(startDate, endDate, appointments -> {
+            AtomicLong rowsWritten = new AtomicLong();
+            generator.generate(appointments.peek(appointment -> progressListener.accept(rowsWritten.incrementAndGet())),
+                    startDate, endDate, out);
+        });
+    }
+
+    private String getFileName(ReportGenerator generator, LocalDate startDate, LocalDate endDate) {
+        return String.format("appointments-report_%s_to_%s%s", startDate, endDate, generator.getFilenameExtension());
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidReportRequestException("Start date cannot be after end date.");
+        }
     }
 
     private ReportGenerator getGenerator(String format) {
@@ -41,8 +97,10 @@ public class ReportService {
         if ("pdf".equalsIgnoreCase(format)) {
             return pdfGenerator;
         }
-        throw new IllegalArgumentException("Unknown report format: " + format);
+        throw new InvalidReportRequestException("Unknown report format: " + format);
     }
 
-    public record Report(String fileName, ByteArrayInputStream stream, String contentType) {}
+    public record Report(String fileName, StreamingResponseBody body, String contentType) {}
+
+    public record ReportDescription(String fileName, String contentType) {}
 }
@@ -0,0 +1,124 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+import com.epam.engagement_system.dto.admin.ScheduleRuleRequest;
+import com.epam.engagement_system.dto.admin.ScheduleRuleResponse;
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.exception.schedule.InvalidScheduleRuleException;
+import com.epam.engagement_system.repository.ScheduleRuleRepository;
+import com.epam.engagement_system.service.schedule.ScheduleTemplate;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ScheduleRuleService {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleRuleService.class);
+    private static final int MIN_SLOT_MINUTES = 5;
+    private static final int MAX_SLOT_MINUTES = 8 * 60;
+    private static final int MAX_CAPACITY = 100;
+
+    private final ScheduleRuleRepository scheduleRuleRepository;
+    private final TimeSlotService timeSlotService;
+
+    @Transactional(readOnly = true)
+    public List<ScheduleRuleResponse> findAll() {
+        return scheduleRuleRepository.findAll().stream()
+                .map(ScheduleRuleResponse::mapToDto)
+                .toList();
+    }
+
+    @Transactional
+    public ScheduleRuleResponse createRule(ScheduleRuleRequest request) {
+        validate(request);
+        ScheduleRule rule = new ScheduleRule();
+        rule.setType(request.type());
+        rule.setDayOfWeek(request.dayOfWeek());
+        rule.setDate(request.date());
+        if (request.type() != ScheduleRuleType.CLOSED) {
+            rule.setStartTime(request.startTime());
+            rule.setEndTime(request.endTime());
+        }
+        if (request.type() == ScheduleRuleType.OPENING_HOURS) {
+            rule.setSlotMinutes(request.slotMinutes());
+            rule.setCapacity(request.capacity() == null ? 1 : request.capacity());
+        }
+        rule.setDescription(request.description());
+        scheduleRuleRepository.save(rule);
+        logger.info("Schedule rule {} was created", rule.getId());
+
+        applyChange(rule);
+        return ScheduleRuleResponse.mapToDto(rule);
+    }
+
+    @Transactional
+    public void deleteRule(Long ruleId) {
+        ScheduleRule rule = scheduleRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Schedule rule not found with id: " + ruleId));
+        scheduleRuleRepository.delete(rule);
+        scheduleRuleRepository.flush();
+        logger.info("Schedule rule {} was deleted", ruleId);
+
+        applyChange(rule);
+    }
+
+    private void applyChange(ScheduleRule changedRule) {
+        ScheduleTemplate template = ScheduleTemplate.compile(scheduleRuleRepository.findAll());
+        timeSlotService.regenerateDays(affectedDays(changedRule), template);
+    }
+
+    // Days that already have slots and are not in the past; later days pick the rule up when they are generated.
+    private List<LocalDate> affectedDays(ScheduleRule rule) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastGeneratedDay = timeSlotService.findLastGeneratedDay().orElse(null);
+        List<LocalDate> days = new ArrayList<>();
+        if (lastGeneratedDay == null || lastGeneratedDay.isBefore(today)) {
+            return days;
+        }
+        if (rule.getDate() != null) {
+            if (!rule.getDate().isBefore(today) && !rule.getDate().isAfter(lastGeneratedDay)) {
+                days.add(rule.getDate());
+            }
+            return days;
+        }
+        LocalDate day = today.plusDays((rule.getDayOfWeek().getValue() - today.getDayOfWeek().getValue() + 7) % 7);
+        for (; !day.isAfter(lastGeneratedDay); day = day.plusWeeks(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    private void validate(ScheduleRuleRequest request) {
+        if ((request.dayOfWeek() == null) == (request.date() == null)) {
+            throw new InvalidScheduleRuleException("A schedule rule applies either to a day of the week or to a date.");
+        }
+        if (request.type() == ScheduleRuleType.CLOSED) {
+            return;
+        }
+        if (request.startTime() == null || request.endTime() == null || !request.startTime().isBefore(request.endTime())) {
+            throw new InvalidScheduleRuleException("Start time must be before end time.");
+        }
+        if (request.type() == ScheduleRuleType.OPENING_HOURS) {
+            Integer slotMinutes = request.slotMinutes();
+            if (slotMinutes == null || slotMinutes < MIN_SLOT_MINUTES || slotMinutes > MAX_SLOT_MINUTES) {
+                throw new InvalidScheduleRuleException(
+                        "Slot length must be between " + MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES + " minutes.");
+            }
+            if (Duration.between(request.startTime(), request.endTime()).toMinutes() < slotMinutes) {
+                throw new InvalidScheduleRuleException("Opening hours must fit at least one slot.");
+            }
+            if (request.capacity() != null && (request.capacity() < 1 || request.capacity() > MAX_CAPACITY)) {
+                throw new InvalidScheduleRuleException("Slot capacity must be between 1 and " + MAX_CAPACITY + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.exception.appointment.TimeSlotNotAvailableException;
+import com.epam.engagement_system.repository.TimeSlotRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class SlotReservationService {
+    private final TimeSlotRepository timeSlotRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationService.class);
+
+    // Runs in the booking transaction so that a rollback releases the slot again.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TimeSlot claim(Long timeSlotId) {
+        if (timeSlotRepository.claimSeat(timeSlotId) == 0) {
+            logger.info("Time slot {} is fully booked or does not exist.", timeSlotId);
+            throw new TimeSlotNotAvailableException("Time slot is not available or does not exist.");
+        }
+
+        return timeSlotRepository.findById(timeSlotId)
+                .orElseThrow(() -> new TimeSlotNotAvailableException("Time slot is not available or does not exist."));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(TimeSlot timeSlot) {
+        if (timeSlotRepository.releaseSeat(timeSlot.getId()) == 0) {
+            logger.warn("Time slot {} had no booking to release.", timeSlot.getId());
+        }
+    }
+}
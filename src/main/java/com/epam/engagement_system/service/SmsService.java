@@ -0,0 +1,52 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.service.sms.SmsGateway;
+import com.epam.engagement_system.util.ConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class SmsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsService.class);
+
+    private final SmsGateway smsGateway;
+    private final ConcurrencyLimiter smsLimiter;
+
+    public SmsService(SmsGateway smsGateway,
+                      @Value("${app.sms.max-concurrency:10}") int maxConcurrency,
+                      @Value("${app.sms.acquire-timeout:PT10S}") Duration acquireTimeout) {
+        this.smsGateway = smsGateway;
+        this.smsLimiter = new ConcurrencyLimiter(maxConcurrency, acquireTimeout);
+    }
+
+    @Async("asyncExecutor")
+    public void sendMessageAsync(String recipient, String messageBody) {
+        try {
+            sendMessage(recipient, messageBody);
+        } catch (Exception e) {
+            logger.error("Failed to send SMS message to the phone number: {}", e.getMessage(), e);
+        }
+    }
+
+    public void sendMessage(String recipient, String messageBody) {
+        if (!smsLimiter.tryAcquire()) {
+            throw new IllegalStateException("SMS gateway is saturated: no slot became free within " + smsLimiter.getAcquireTimeout());
+        }
+        try {
+            smsGateway.send(recipient, messageBody);
+        } finally {
+            smsLimiter.release();
+        }
+        logger.info("SMS gateway successfully sent message to the phone number");
+    }
+
+    public boolean isSaturated() {
+        return smsLimiter.inUse() >= smsLimiter.getMaxConcurrency();
+    }
+}
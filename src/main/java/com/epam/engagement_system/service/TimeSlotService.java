@@ -1,94 +1,95 @@
 package com.epam.engagement_system.service;
 
-import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.repository.ScheduleRuleRepository;
+import com.epam.engagement_system.repository.SlotBatch;
 import com.epam.engagement_system.repository.TimeSlotRepository;
+import com.epam.engagement_system.service.cache.TimeSlotAvailabilityCache;
+import com.epam.engagement_system.service.schedule.ScheduleTemplate;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class TimeSlotService {
     private final TimeSlotRepository timeSlotRepository;
+    private final TimeSlotAvailabilityCache availabilityCache;
+    private final ScheduleRuleRepository scheduleRuleRepository;
 
-    private static final LocalTime OPENING_TIME = LocalTime.of(9, 0);
-    private static final LocalTime CLOSING_TIME = LocalTime.of(18, 0);
-    private static final LocalTime LUNCH_START = LocalTime.of(12, 0);
-    private static final LocalTime LUNCH_END = LocalTime.of(13, 0);
-    private static final LocalTime FRIDAY_LUNCH_START = LocalTime.of(12, 30);
-    private static final LocalTime FRIDAY_LUNCH_END = LocalTime.of(14, 0);
-    private static final long SLOT_DURATION_MINUTES = 30;
+    private static final int MAX_MONTHS_PER_REQUEST = 24;
+    private static final int EXPECTED_SLOTS_PER_DAY = 16;
 
     private static final Logger logger = LoggerFactory.getLogger(TimeSlotService.class);
+
     @Transactional
-    public String generateSlotsForMonth(int year, int month) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        if (yearMonth.isBefore(YearMonth.now())) {
+    public String generateSlotsForMonths(int year, int month, int months) {
+        YearMonth firstMonth = YearMonth.of(year, month);
+        if (firstMonth.isBefore(YearMonth.now())) {
             throw new IllegalArgumentException("Cannot generate time slots for a past month.");
         }
+        if (months < 1 || months > MAX_MONTHS_PER_REQUEST) {
+            throw new IllegalArgumentException("Time slots can be generated for 1 to " + MAX_MONTHS_PER_REQUEST + " months at once.");
+        }
+        YearMonth lastMonth = firstMonth.plusMonths(months - 1);
 
-        LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-        Set<LocalDateTime> existingSlots = timeSlotRepository.findExistingStartTimes(startOfMonth, endOfMonth);
-
-        List<TimeSlot> newSlots = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-        for (int day = 1; day <= yearMonth.lengthOfMonth(); ++day) {
-            LocalDate currentDate = yearMonth.atDay(day);
-            if (currentDate.isBefore(today)) {
-                continue;
-            }
-
-            LocalDateTime currentTimeSlot = currentDate.atTime(OPENING_TIME);
-            LocalDateTime closingTime = currentDate.atTime(CLOSING_TIME);
-
-            while (!currentTimeSlot.plusMinutes(SLOT_DURATION_MINUTES).isAfter(closingTime)) {
-                LocalDateTime slotEndTime = currentTimeSlot.plusMinutes(SLOT_DURATION_MINUTES);
-                LocalTime start = currentTimeSlot.toLocalTime();
-                LocalTime end = slotEndTime.toLocalTime();
-
-
-                if (isDuringLunchBreak(currentDate.getDayOfWeek(), start, end)) {
-                    currentTimeSlot = currentTimeSlot.plusMinutes(SLOT_DURATION_MINUTES);
-                    continue;
-                }
-
-                if (!existingSlots.contains(currentTimeSlot)) {
-                    TimeSlot newSlot = new TimeSlot();
-                    newSlot.setStartTime(currentTimeSlot);
-                    newSlot.setEndTime(slotEndTime);
-                    newSlot.setAvailable(true);
-                    newSlots.add(newSlot);
-                }
-                currentTimeSlot = slotEndTime;
-            }
+        long startedAt = System.nanoTime();
+        // Compiled per call from the rules table, so every node generates from the rules as they are now.
+        ScheduleTemplate template = ScheduleTemplate.compile(scheduleRuleRepository.findAll());
+        long firstDay = Math.max(firstMonth.atDay(1).toEpochDay(), LocalDate.now().toEpochDay());
+        long lastDay = lastMonth.atEndOfMonth().toEpochDay();
+        SlotBatch candidates = new SlotBatch((int) Math.max(lastDay - firstDay + 1, 0) * EXPECTED_SLOTS_PER_DAY);
+        for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+            template.forDate(LocalDate.ofEpochDay(epochDay)).appendTo(epochDay, candidates);
         }
-        if (!newSlots.isEmpty()) {
-            timeSlotRepository.saveAll(newSlots);
+        int generated = timeSlotRepository.insertMissing(candidates);
+        if (generated > 0) {
+            for (YearMonth yearMonth = firstMonth; !yearMonth.isAfter(lastMonth); yearMonth = yearMonth.plusMonths(1)) {
+                availabilityCache.invalidate(yearMonth);
+            }
         }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        double rowsPerSecond = generated / Math.max(elapsed.toNanos() / 1e9, 1e-9);
 
-        String successMessage = String.format(
-                "Successfully generated %d new time slots for %d-%02d.", newSlots.size(), year, month);
+        String range = months == 1 ? firstMonth.toString() : firstMonth + " to " + lastMonth;
+        String successMessage = String.format(Locale.ROOT,
+                "Successfully generated %d new time slots for %s in %d ms (%.0f rows/s).",
+                generated, range, elapsed.toMillis(), rowsPerSecond);
         logger.info(successMessage);
         return successMessage;
     }
 
-    private boolean isDuringLunchBreak(DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
-        if (dayOfWeek == DayOfWeek.FRIDAY) {
-            return start.isBefore(FRIDAY_LUNCH_END) && end.isAfter(FRIDAY_LUNCH_START);
-        } else {
-            return start.isBefore(LUNCH_END) && end.isAfter(LUNCH_START);
+    // Brings already generated days in line with a changed schedule. Booked slots and slots that were ever
+    // booked stay, because appointments keep pointing at them.
+    @Transactional
+    public void regenerateDays(List<LocalDate> days, ScheduleTemplate template) {
+        if (days.isEmpty()) {
+            return;
         }
+        SlotBatch slots = new SlotBatch(days.size() * EXPECTED_SLOTS_PER_DAY);
+        for (LocalDate day : days) {
+            template.forDate(day).appendTo(day.toEpochDay(), slots);
+        }
+        int deleted = timeSlotRepository.deleteUnbookedNotIn(days.toArray(LocalDate[]::new), slots);
+        int resized = timeSlotRepository.updateCapacities(slots);
+        int inserted = timeSlotRepository.insertMissing(slots);
+        if (deleted > 0 || resized > 0 || inserted > 0) {
+            days.stream().map(YearMonth::from).distinct().forEach(availabilityCache::invalidate);
+        }
+        logger.info("Regenerated {} days: {} time slots removed, {} resized, {} added", days.size(), deleted, resized, inserted);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> findLastGeneratedDay() {
+        return Optional.ofNullable(timeSlotRepository.findLatestStartTime()).map(LocalDateTime::toLocalDate);
     }
 }
@@ -5,6 +5,7 @@ import com.epam.engagement_system.dto.user.UpdateProfileRequest;
 import com.epam.engagement_system.dto.user.UserInformationResponse;
 import com.epam.engagement_system.exception.ResourceNotFoundException;
 import com.epam.engagement_system.repository.UserRepository;
+import com.epam.engagement_system.service.cache.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public UserInformationResponse findById(Long userId) {
@@ -32,6 +34,7 @@ public class UserService {
         user.setFirstName(normalizeName(request.firstName()));
         user.setLastName(normalizeName(request.lastName()));
         user.setGender(request.gender());
+        principalCache.invalidate(user.getPhoneNumber());
 
         return UserInformationResponse.mapToDto(user);
     }
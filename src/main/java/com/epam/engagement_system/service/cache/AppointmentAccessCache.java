@@ -0,0 +1,51 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.dto.appointment.AppointmentAccess;
+import com.epam.engagement_system.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Keeps the rows loaded for permission checks for the rest of the request, so the handler does not load them again.
+@Component
+@RequiredArgsConstructor
+public class AppointmentAccessCache {
+    private static final String ATTRIBUTE = AppointmentAccessCache.class.getName();
+
+    private final AppointmentRepository appointmentRepository;
+
+    public Optional<AppointmentAccess> get(Long appointmentId) {
+        Map<Long, Optional<AppointmentAccess>> loaded = requestCache();
+        if (loaded == null) {
+            return appointmentRepository.findAccessById(appointmentId);
+        }
+        return loaded.computeIfAbsent(appointmentId, appointmentRepository::findAccessById);
+    }
+
+    public void evict(Long appointmentId) {
+        Map<Long, Optional<AppointmentAccess>> loaded = requestCache();
+        if (loaded != null) {
+            loaded.remove(appointmentId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Optional<AppointmentAccess>> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, Optional<AppointmentAccess>> loaded =
+                (Map<Long, Optional<AppointmentAccess>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaded == null) {
+            loaded = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, loaded, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loaded;
+    }
+}
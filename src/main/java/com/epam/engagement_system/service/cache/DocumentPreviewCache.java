@@ -0,0 +1,40 @@
+package com.epam.engagement_system.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.function.Function;
+
+@Component
+public class DocumentPreviewCache {
+    private final Cache<String, byte[]> cache;
+
+    public DocumentPreviewCache(MeterRegistry meterRegistry,
+                                @Value("${app.preview-cache.max-size:32MB}") DataSize maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String documentPath, byte[] preview) -> Math.max(preview.length, documentPath.length()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "document-previews");
+        Gauge.builder("document.preview.cache.bytes", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Admins opening the same document at once wait for a single load. Documents without a preview are cached as an
+    // empty array, weighed by their path so they still count against the size limit. A null result is not cached.
+    public byte[] get(String documentPath, Function<String, byte[]> loader) {
+        return cache.get(documentPath, loader);
+    }
+
+    public void evict(String documentPath) {
+        cache.invalidate(documentPath);
+    }
+}
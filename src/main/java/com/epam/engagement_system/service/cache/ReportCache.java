@@ -0,0 +1,106 @@
+package com.epam.engagement_system.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+
+@Component
+public class ReportCache {
+    private static final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    private final Cache<Key, byte[]> cache;
+    private final long maxEntryBytes;
+
+    public ReportCache(MeterRegistry meterRegistry,
+                       @Value("${app.report-cache.max-size:64MB}") DataSize maxSize,
+                       @Value("${app.report-cache.max-entry-size:8MB}") DataSize maxEntrySize) {
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reports");
+        Gauge.builder("report.cache.bytes", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public byte[] get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    // Writes the report to out and keeps a copy of it, unless it grows larger than a single entry may be.
+    public void writeThrough(Key key, OutputStream out, ReportWriter writer) throws IOException {
+        CopyingOutputStream copyingOut = new CopyingOutputStream(out, maxEntryBytes);
+        writer.writeTo(copyingOut);
+        if (copyingOut.copy != null) {
+            cache.put(key, copyingOut.copy.toByteArray());
+        } else {
+            logger.info("Report {} exceeded {} bytes and was not cached", key, maxEntryBytes);
+        }
+    }
+
+    public record Key(String format, LocalDate startDate, LocalDate endDate, long dataVersion) {
+        public Key {
+            format = format.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ReportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static final class CopyingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CopyingOutputStream(OutputStream out, long limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (reserve(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (reserve(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        private boolean reserve(int len) {
+            if (copy != null && copy.size() + len > limit) {
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.repository.ReportDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Versions live in the database, so a change on one node invalidates cached reports and retained report jobs on all
+// of them. The bump is part of the changing transaction and becomes visible together with the change.
+@Component
+@RequiredArgsConstructor
+public class ReportDataVersions {
+    private final ReportDataVersionRepository reportDataVersionRepository;
+
+    public void markChanged(TimeSlot timeSlot) {
+        reportDataVersionRepository.bump(timeSlot.getStartTime().toLocalDate());
+    }
+
+    public long versionOf(LocalDate startDate, LocalDate endDate) {
+        return reportDataVersionRepository.sumVersions(startDate, endDate);
+    }
+}
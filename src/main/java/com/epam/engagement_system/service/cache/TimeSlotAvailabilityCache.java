@@ -0,0 +1,159 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.dto.appointment.TimeSlotInformationResponse;
+import com.epam.engagement_system.repository.TimeSlotRepository;
+import com.epam.engagement_system.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TimeSlotAvailabilityCache {
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotAvailabilityCache.class);
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final Duration maxAge;
+    private final Map<YearMonth, MonthAvailability> months = new ConcurrentHashMap<>();
+    private final AtomicLong changeCount = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public TimeSlotAvailabilityCache(TimeSlotRepository timeSlotRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.availability-cache.max-age:10m}") Duration maxAge) {
+        this.timeSlotRepository = timeSlotRepository;
+        this.maxAge = maxAge;
+        this.hits = Counter.builder("availability.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("availability.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("availability.cache.months", months, Map::size).register(meterRegistry);
+        Gauge.builder("availability.cache.oldest.age", this, TimeSlotAvailabilityCache::oldestEntryAgeSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public List<TimeSlotInformationResponse> getAvailableSlots(YearMonth yearMonth) {
+        MonthAvailability cached = months.get(yearMonth);
+        if (cached != null && !cached.isOlderThan(maxAge)) {
+            hits.increment();
+            return cached.availableSlots();
+        }
+        misses.increment();
+
+        long changesBeforeLoad = changeCount.get();
+        MonthAvailability loaded = load(yearMonth);
+        // A booking committed while the month was loading may be missing from the snapshot, so it is not kept.
+        if (changeCount.get() == changesBeforeLoad) {
+            months.put(yearMonth, loaded);
+        }
+        return loaded.availableSlots();
+    }
+
+    public void markBooked(TimeSlot timeSlot) {
+        TransactionUtil.afterCommit(() -> update(timeSlot, -1));
+    }
+
+    public void markReleased(TimeSlot timeSlot) {
+        TransactionUtil.afterCommit(() -> update(timeSlot, 1));
+    }
+
+    public void invalidate(YearMonth yearMonth) {
+        TransactionUtil.afterCommit(() -> {
+            changeCount.incrementAndGet();
+            months.remove(yearMonth);
+            logger.info("Availability cache for {} was invalidated", yearMonth);
+        });
+    }
+
+    private void update(TimeSlot timeSlot, int remainingDelta) {
+        changeCount.incrementAndGet();
+        YearMonth yearMonth = YearMonth.from(timeSlot.getStartTime());
+        MonthAvailability cached = months.get(yearMonth);
+        if (cached != null && !cached.adjustRemaining(timeSlot.getId(), remainingDelta)) {
+            months.remove(yearMonth);
+        }
+    }
+
+    private MonthAvailability load(YearMonth yearMonth) {
+        LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
+        List<TimeSlot> slots = timeSlotRepository.findByStartTimeBetweenOrderByStartTimeAsc(startOfMonth, endOfMonth);
+        logger.info("Loaded {} time slots of {} into availability cache", slots.size(), yearMonth);
+        return new MonthAvailability(slots);
+    }
+
+    private double oldestEntryAgeSeconds() {
+        Instant now = Instant.now();
+        return months.values().stream()
+                .mapToLong(month -> Duration.between(month.loadedAt, now).toSeconds())
+                .max()
+                .orElse(0);
+    }
+
+    private static final class MonthAvailability {
+        private final Instant loadedAt = Instant.now();
+        private final TimeSlotInformationResponse[] slots;
+        private final Map<Long, Integer> indexById;
+        private final int[] remaining;
+        private volatile List<TimeSlotInformationResponse> availableSlots;
+
+        private MonthAvailability(List<TimeSlot> timeSlots) {
+            slots = new TimeSlotInformationResponse[timeSlots.size()];
+            indexById = new HashMap<>(timeSlots.size() * 2);
+            remaining = new int[timeSlots.size()];
+            for (int i = 0; i < timeSlots.size(); i++) {
+                TimeSlot timeSlot = timeSlots.get(i);
+                slots[i] = new TimeSlotInformationResponse(timeSlot.getId(), timeSlot.getStartTime(), timeSlot.getEndTime(),
+                        timeSlot.getCapacity(), timeSlot.getRemainingCapacity());
+                indexById.put(timeSlot.getId(), i);
+                remaining[i] = timeSlot.getRemainingCapacity();
+            }
+            availableSlots = snapshot();
+        }
+
+        private boolean isOlderThan(Duration maxAge) {
+            return loadedAt.plus(maxAge).isBefore(Instant.now());
+        }
+
+        private List<TimeSlotInformationResponse> availableSlots() {
+            return availableSlots;
+        }
+
+        private synchronized boolean adjustRemaining(Long timeSlotId, int delta) {
+            Integer index = indexById.get(timeSlotId);
+            if (index == null) {
+                return false;
+            }
+            remaining[index] = Math.clamp(remaining[index] + delta, 0, slots[index].capacity());
+            availableSlots = snapshot();
+            return true;
+        }
+
+        private List<TimeSlotInformationResponse> snapshot() {
+            List<TimeSlotInformationResponse> result = new ArrayList<>();
+            for (int i = 0; i < slots.length; i++) {
+                if (remaining[i] > 0) {
+                    TimeSlotInformationResponse slot = slots[i];
+                    result.add(remaining[i] == slot.remainingCapacity() ? slot
+                            : new TimeSlotInformationResponse(slot.id(), slot.startTime(), slot.endTime(), slot.capacity(), remaining[i]));
+                }
+            }
+            return List.copyOf(result);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.security.UserPrincipal;
+import com.epam.engagement_system.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserPrincipalCache {
+    private final Cache<String, UserPrincipal> principals;
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${app.user-cache.max-size:10000}") long maxSize,
+                              @Value("${app.user-cache.ttl:PT10M}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "user-principals");
+    }
+
+    // Concurrent misses for the same phone number share a single load. Inside a transaction the loader may create
+    // the user, so the principal is only cached once that transaction commits.
+    public UserPrincipal get(String phoneNumber, Function<String, UserPrincipal> loader) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return principals.get(phoneNumber, loader);
+        }
+        UserPrincipal cached = principals.getIfPresent(phoneNumber);
+        if (cached != null) {
+            return cached;
+        }
+        UserPrincipal loaded = loader.apply(phoneNumber);
+        TransactionUtil.afterCommit(() -> principals.asMap().putIfAbsent(phoneNumber, loaded));
+        return loaded;
+    }
+
+    // Must be called whenever a user's profile or roles change.
+    public void invalidate(String phoneNumber) {
+        TransactionUtil.afterCommit(() -> principals.invalidate(phoneNumber));
+    }
+
+    public long size() {
+        return principals.estimatedSize();
+    }
+}
@@ -0,0 +1,12 @@
+package com.epam.engagement_system.service.document;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+public interface DocumentOptimizer {
+    boolean supports(DocumentType type);
+
+    // Writes a re-encoded copy of the document. The caller keeps the original when the copy is not smaller.
+    void optimize(Path source, DocumentType type, OutputStream out) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.epam.engagement_system.service.document;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface DocumentPreviewRenderer {
+    boolean supports(DocumentType type);
+
+    // Returns the first page scaled to fit into maxDimension, or empty when the document has nothing to show.
+    Optional<BufferedImage> renderFirstPage(Path source, int maxDimension) throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.epam.engagement_system.service.document;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum DocumentType {
+    JPEG(".jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG(".png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    PDF(".pdf", new byte[]{'%', 'P', 'D', 'F', '-'});
+
+    public static final int HEADER_LENGTH = 8;
+
+    private final String extension;
+    private final byte[] magicBytes;
+
+    DocumentType(String extension, byte[] magicBytes) {
+        this.extension = extension;
+        this.magicBytes = magicBytes;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // The declared content type comes from the client, so the type is taken from the file's first bytes instead.
+    public static Optional<DocumentType> sniff(byte[] header) {
+        return Arrays.stream(values())
+                .filter(type -> header.length >= type.magicBytes.length
+                        && Arrays.equals(header, 0, type.magicBytes.length, type.magicBytes, 0, type.magicBytes.length))
+                .findFirst();
+    }
+
+    public static Optional<DocumentType> fromPath(String documentPath) {
+        String lowerCasePath = documentPath.toLowerCase();
+        return Arrays.stream(values())
+                .filter(type -> lowerCasePath.endsWith(type.extension) || (type == JPEG && lowerCasePath.endsWith(".jpeg")))
+                .findFirst();
+    }
+}
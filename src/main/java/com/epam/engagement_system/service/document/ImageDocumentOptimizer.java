@@ -0,0 +1,39 @@
+package com.epam.engagement_system.service.document;
+
+import com.epam.engagement_system.util.ImageUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+@Component
+public class ImageDocumentOptimizer implements DocumentOptimizer {
+    private final int maxDimension;
+    private final float jpegQuality;
+
+    public ImageDocumentOptimizer(@Value("${app.documents.image-max-dimension:2000}") int maxDimension,
+                                  @Value("${app.documents.jpeg-quality:0.8}") float jpegQuality) {
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    @Override
+    public boolean supports(DocumentType type) {
+        return type == DocumentType.JPEG || type == DocumentType.PNG;
+    }
+
+    @Override
+    public void optimize(Path source, DocumentType type, OutputStream out) throws IOException {
+        BufferedImage image = ImageUtil.read(source, maxDimension);
+        if (type == DocumentType.PNG) {
+            int imageType = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            ImageIO.write(ImageUtil.scale(image, maxDimension, imageType), "png", out);
+            return;
+        }
+        ImageUtil.writeJpeg(ImageUtil.scale(image, maxDimension, BufferedImage.TYPE_INT_RGB), jpegQuality, out);
+    }
+}
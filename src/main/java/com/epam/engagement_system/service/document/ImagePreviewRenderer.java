@@ -0,0 +1,24 @@
+package com.epam.engagement_system.service.document;
+
+import com.epam.engagement_system.util.ImageUtil;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@Component
+public class ImagePreviewRenderer implements DocumentPreviewRenderer {
+
+    @Override
+    public boolean supports(DocumentType type) {
+        return type == DocumentType.JPEG || type == DocumentType.PNG;
+    }
+
+    @Override
+    public Optional<BufferedImage> renderFirstPage(Path source, int maxDimension) throws IOException {
+        BufferedImage image = ImageUtil.read(source, maxDimension);
+        return Optional.of(ImageUtil.scale(image, maxDimension, BufferedImage.TYPE_INT_RGB));
+    }
+}
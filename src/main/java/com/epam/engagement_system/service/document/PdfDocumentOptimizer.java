@@ -0,0 +1,38 @@
+package com.epam.engagement_system.service.document;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+// Rewrites the PDF with compressed object streams and shared duplicate resources. Scanned pages keep their images.
+@Component
+public class PdfDocumentOptimizer implements DocumentOptimizer {
+
+    @Override
+    public boolean supports(DocumentType type) {
+        return type == DocumentType.PDF;
+    }
+
+    @Override
+    public void optimize(Path source, DocumentType type, OutputStream out) throws IOException {
+        WriterProperties properties = new WriterProperties()
+                .setFullCompressionMode(true)
+                .setCompressionLevel(CompressionConstants.BEST_COMPRESSION);
+        try (PdfReader reader = new PdfReader(source.toFile());
+             PdfWriter writer = new PdfWriter(out, properties)) {
+            writer.setCloseStream(false);
+            writer.setSmartMode(true);
+            new PdfDocument(reader, writer).close();
+        } catch (PdfException e) {
+            throw new IOException("Could not re-encode PDF " + source.getFileName(), e);
+        }
+    }
+}
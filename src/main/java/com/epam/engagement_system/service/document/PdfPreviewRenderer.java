@@ -0,0 +1,69 @@
+package com.epam.engagement_system.service.document;
+
+import com.epam.engagement_system.util.ImageUtil;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+// iText cannot rasterize text, but the uploaded certificates are scans, so the largest image on the first page is
+// the page itself. PDFs without images have no preview.
+@Component
+public class PdfPreviewRenderer implements DocumentPreviewRenderer {
+
+    @Override
+    public boolean supports(DocumentType type) {
+        return type == DocumentType.PDF;
+    }
+
+    @Override
+    public Optional<BufferedImage> renderFirstPage(Path source, int maxDimension) throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(source.toFile()))) {
+            if (document.getNumberOfPages() == 0) {
+                return Optional.empty();
+            }
+            LargestImageListener listener = new LargestImageListener();
+            new PdfCanvasProcessor(listener).processPageContent(document.getFirstPage());
+            if (listener.largest == null) {
+                return Optional.empty();
+            }
+            BufferedImage image = listener.largest.getBufferedImage();
+            return Optional.of(ImageUtil.scale(image, maxDimension, BufferedImage.TYPE_INT_RGB));
+        } catch (PdfException e) {
+            throw new IOException("Could not read PDF " + source.getFileName(), e);
+        }
+    }
+
+    private static final class LargestImageListener implements IEventListener {
+        private PdfImageXObject largest;
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            PdfImageXObject image = ((ImageRenderInfo) data).getImage();
+            if (largest == null || area(image) > area(largest)) {
+                largest = image;
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return Set.of(EventType.RENDER_IMAGE);
+        }
+
+        private static float area(PdfImageXObject image) {
+            return image.getWidth() * image.getHeight();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.epam.engagement_system.service.otp;
+
+import com.epam.engagement_system.repository.OneTimePasswordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Shared by every node behind the load balancer: a code issued by one node can be verified by another,
+// and the rate limit counts requests across all of them.
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseOtpStore.class);
+
+    private final OneTimePasswordRepository oneTimePasswordRepository;
+    private final Duration ttl;
+    private final int maxRequests;
+    private final Duration rateWindow;
+
+    public DatabaseOtpStore(OneTimePasswordRepository oneTimePasswordRepository,
+                            @Value("${app.otp.ttl:PT5M}") Duration ttl,
+                            @Value("${app.otp.max-requests:5}") int maxRequests,
+                            @Value("${app.otp.rate-window:PT15M}") Duration rateWindow) {
+        this.oneTimePasswordRepository = oneTimePasswordRepository;
+        this.ttl = ttl;
+        this.maxRequests = maxRequests;
+        this.rateWindow = rateWindow;
+    }
+
+    @Override
+    @Transactional
+    public boolean issue(String phoneNumber, String codeHash) {
+        Instant now = Instant.now();
+        return oneTimePasswordRepository.issue(phoneNumber, codeHash, now.plus(ttl), now, now.minus(rateWindow), maxRequests) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(String phoneNumber, String codeHash) {
+        return oneTimePasswordRepository.consume(phoneNumber, codeHash, Instant.now()) > 0;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.otp.sweep-interval:PT10S}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = oneTimePasswordRepository.deleteExpired(now, now.minus(rateWindow));
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired one-time passwords", deleted);
+        }
+    }
+}
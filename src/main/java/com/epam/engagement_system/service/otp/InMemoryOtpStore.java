@@ -0,0 +1,156 @@
+package com.epam.engagement_system.service.otp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Single-node store. Entries are filed into a timing wheel by the time they may be dropped, so a sweep only looks at
+// the buckets whose time has come instead of scanning every phone number.
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOtpStore.class);
+
+    private final Duration ttl;
+    private final int maxRequests;
+    private final Duration rateWindow;
+    private final int maxEntries;
+    private final long tickMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private volatile long sweptTick;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryOtpStore(@Value("${app.otp.ttl:PT5M}") Duration ttl,
+                            @Value("${app.otp.max-requests:5}") int maxRequests,
+                            @Value("${app.otp.rate-window:PT15M}") Duration rateWindow,
+                            @Value("${app.otp.max-entries:100000}") int maxEntries,
+                            @Value("${app.otp.sweep-interval:PT10S}") Duration sweepInterval,
+                            MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.maxRequests = maxRequests;
+        this.rateWindow = rateWindow;
+        this.maxEntries = maxEntries;
+        this.tickMillis = sweepInterval.toMillis();
+        int buckets = (int) (Math.max(ttl.toMillis(), rateWindow.toMillis()) / tickMillis) + 2;
+        this.wheel = new Set[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.sweptTick = Math.floorDiv(Instant.now().toEpochMilli(), tickMillis);
+        Gauge.builder("otp.store.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public boolean issue(String phoneNumber, String codeHash) {
+        Instant now = Instant.now();
+        boolean[] issued = new boolean[1];
+        Entry entry = entries.compute(phoneNumber, (key, current) -> {
+            if (current == null) {
+                if (entries.size() >= maxEntries) {
+                    return null;
+                }
+                issued[0] = true;
+                return new Entry(codeHash, now.plus(ttl), now, 1);
+            }
+            if (current.windowStartedAt().plus(rateWindow).isBefore(now)) {
+                issued[0] = true;
+                return new Entry(codeHash, now.plus(ttl), now, 1);
+            }
+            if (current.requestCount() >= maxRequests) {
+                return current;
+            }
+            issued[0] = true;
+            return new Entry(codeHash, now.plus(ttl), current.windowStartedAt(), current.requestCount() + 1);
+        });
+        if (issued[0]) {
+            schedule(phoneNumber, entry.retainUntil(rateWindow));
+        }
+        return issued[0];
+    }
+
+    @Override
+    public boolean consume(String phoneNumber, String codeHash) {
+        Instant now = Instant.now();
+        boolean[] consumed = new boolean[1];
+        entries.computeIfPresent(phoneNumber, (key, current) -> {
+            if (codeHash.equals(current.codeHash()) && current.expiresAt().isAfter(now)) {
+                consumed[0] = true;
+                return new Entry(null, current.expiresAt(), current.windowStartedAt(), current.requestCount());
+            }
+            return current;
+        });
+        return consumed[0];
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.otp.sweep-interval:PT10S}")
+    public void purgeExpired() {
+        sweep(Instant.now());
+    }
+
+    synchronized void sweep(Instant now) {
+        long nowTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        long firstTick = Math.max(sweptTick + 1, nowTick - wheel.length + 1);
+        List<String> retained = new ArrayList<>();
+        int removed = 0;
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            for (Iterator<String> iterator = wheel[(int) Math.floorMod(tick, wheel.length)].iterator(); iterator.hasNext(); ) {
+                String phoneNumber = iterator.next();
+                iterator.remove();
+                Entry entry = entries.computeIfPresent(phoneNumber,
+                        (key, current) -> current.retainUntil(rateWindow).isAfter(now) ? current : null);
+                if (entry != null) {
+                    retained.add(phoneNumber);
+                } else {
+                    removed++;
+                }
+            }
+        }
+        sweptTick = Math.max(sweptTick, nowTick);
+
+        // Entries re-issued since they were filed are already in a later bucket; this only catches ones filed early.
+        for (String phoneNumber : retained) {
+            Entry entry = entries.get(phoneNumber);
+            if (entry != null) {
+                schedule(phoneNumber, entry.retainUntil(rateWindow));
+            }
+        }
+        if (removed > 0) {
+            logger.debug("Swept {} expired one-time passwords", removed);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void schedule(String phoneNumber, Instant retainUntil) {
+        long tick = Math.floorDiv(retainUntil.toEpochMilli(), tickMillis) + 1;
+        long current = sweptTick;
+        tick = Math.min(Math.max(tick, current + 1), current + wheel.length - 1);
+        wheel[(int) Math.floorMod(tick, wheel.length)].add(phoneNumber);
+    }
+
+    // A consumed code keeps its entry (without the code) until the rate window ends, so logging in does not reset the limit.
+    private record Entry(String codeHash, Instant expiresAt, Instant windowStartedAt, int requestCount) {
+        private Instant retainUntil(Duration rateWindow) {
+            Instant windowEnd = windowStartedAt.plus(rateWindow);
+            return expiresAt.isAfter(windowEnd) ? expiresAt : windowEnd;
+        }
+    }
+}
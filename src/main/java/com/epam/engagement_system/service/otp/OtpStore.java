@@ -0,0 +1,17 @@
+package com.epam.engagement_system.service.otp;
+
+public interface OtpStore {
+    /**
+     * Stores the code for the phone number, replacing the one issued before.
+     * Returns false without storing anything when the phone number has requested too many codes
+     * within the rate window or the store is full.
+     */
+    boolean issue(String phoneNumber, String codeHash);
+
+    /**
+     * Consumes the code if it matches and has not expired, so a code logs in at most once.
+     */
+    boolean consume(String phoneNumber, String codeHash);
+
+    void purgeExpired();
+}
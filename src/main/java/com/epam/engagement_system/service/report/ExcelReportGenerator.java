@@ -1,28 +1,37 @@
 package com.epam.engagement_system.service.report;
 
 import com.epam.engagement_system.domain.Appointment;
+import com.epam.engagement_system.exception.report.ReportGenerationException;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Component("excelReportGenerator")
 public class ExcelReportGenerator implements ReportGenerator {
     private static final Logger logger = LoggerFactory.getLogger(ExcelReportGenerator.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final int ROW_WINDOW_SIZE = 100;
+
+    private static final String[] COLUMNS = {"ID", "Applicant Phone", "Ceremony Time", "Groom", "Bride", "Status", "Witness 1", "Witness 2", "Witness 3", "Notes", "Rejection Reason"};
+    // Column widths in characters. Rows are flushed to disk as they are written, so columns cannot be auto-sized.
+    private static final int[] COLUMN_WIDTHS = {8, 16, 18, 28, 28, 12, 28, 28, 28, 40, 40};
 
     @Override
-    public ByteArrayInputStream generate(List<Appointment> appointments, LocalDate startDate, LocalDate endDate) {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+    public void generate(Stream<Appointment> appointments, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Appointments");
 
             Font headerFont = workbook.createFont();
@@ -33,22 +42,27 @@ public class ExcelReportGenerator implements ReportGenerator {
             CellStyle wrapStyle = workbook.createCellStyle();
             wrapStyle.setWrapText(true);
 
+            for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
+
             Row generatedRow = sheet.createRow(0);
             generatedRow.createCell(0).setCellValue("Period: ");
             generatedRow.createCell(1).setCellValue(startDate.format(DATE_FORMATTER) + " - " + endDate.format(DATE_FORMATTER));
             generatedRow.createCell(2).setCellValue("Generated On:");
             generatedRow.createCell(3).setCellValue(LocalDateTime.now().format(DATE_TIME_FORMATTER));
 
-            String[] columns = {"ID", "Applicant Phone", "Ceremony Time", "Groom", "Bride", "Status", "Witness 1", "Witness 2", "Witness 3", "Notes", "Rejection Reason"};
             Row headerRow = sheet.createRow(2);
-            for (int i = 0; i < columns.length; i++) {
+            for (int i = 0; i < COLUMNS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(columns[i]);
+                cell.setCellValue(COLUMNS[i]);
                 cell.setCellStyle(headerCellStyle);
             }
 
             int rowIdx = 3;
-            for (Appointment app : appointments) {
+            Iterator<Appointment> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                Appointment app = iterator.next();
                 Row row = sheet.createRow(rowIdx++);
                 row.createCell(0).setCellValue(app.getId());
                 row.createCell(1).setCellValue(app.getApplicant().getPhoneNumber());
@@ -62,23 +76,20 @@ public class ExcelReportGenerator implements ReportGenerator {
                 row.createCell(9).setCellValue(app.getNotes() != null ? app.getNotes() : "");
                 row.createCell(10).setCellValue(app.getRejectionReason() != null ? app.getRejectionReason() : "");
 
-                for(int i = 0; i < columns.length; i++) {
-                    if(row.getCell(i) != null) {
-                        row.getCell(i).setCellStyle(wrapStyle);
-                    }
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    row.getCell(i).setCellStyle(wrapStyle);
                 }
             }
 
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
             workbook.write(out);
+            out.flush();
 
-            logger.info("Successfully generated excel appointment report from {} to {}", startDate, endDate);
-            return new ByteArrayInputStream(out.toByteArray());
-        } catch (Exception e) {
+            logger.info("Successfully generated excel appointment report from {} to {} with {} rows", startDate, endDate, rowIdx - 3);
+        } catch (IOException e) {
             logger.error("Failure to generate appointment report excel file: {}", e.getMessage(), e);
-            return null;
+            throw new ReportGenerationException("Could not generate excel report.", e);
+        } finally {
+            workbook.dispose();
         }
     }
 
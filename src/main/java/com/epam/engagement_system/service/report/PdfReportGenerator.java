@@ -1,6 +1,7 @@
 package com.epam.engagement_system.service.report;
 
 import com.epam.engagement_system.domain.Appointment;
+import com.epam.engagement_system.exception.report.ReportGenerationException;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -14,24 +15,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Component("pdfReportGenerator")
 public class PdfReportGenerator implements ReportGenerator {
     private static final Logger logger = LoggerFactory.getLogger(PdfReportGenerator.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final int TABLE_FLUSH_INTERVAL = 100;
 
     @Override
-    public ByteArrayInputStream generate(List<Appointment> appointments, LocalDate startDate, LocalDate endDate) {
+    public void generate(Stream<Appointment> appointments, LocalDate startDate, LocalDate endDate, OutputStream out) {
         try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf, PageSize.A4.rotate());
 
@@ -42,7 +44,8 @@ public class PdfReportGenerator implements ReportGenerator {
             document.add(new Paragraph("Generated on: " + LocalDateTime.now().format(DATE_TIME_FORMATTER))
                     .setTextAlignment(TextAlignment.CENTER).setFontSize(10).setItalic());
 
-            Table table = new Table(UnitValue.createPercentArray(new float[]{2, 4, 4, 5, 5, 3, 5, 5, 5, 6, 6}));
+            // A large table is laid out and written page by page as it is flushed instead of being kept whole.
+            Table table = new Table(UnitValue.createPercentArray(new float[]{2, 4, 4, 5, 5, 3, 5, 5, 5, 6, 6}), true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             table.addHeaderCell(createHeaderCell("ID"));
@@ -56,8 +59,12 @@ public class PdfReportGenerator implements ReportGenerator {
             table.addHeaderCell(createHeaderCell("Witness 3"));
             table.addHeaderCell(createHeaderCell("Notes"));
             table.addHeaderCell(createHeaderCell("Rejection reason"));
+            document.add(table);
 
-            for (Appointment app : appointments) {
+            int rowCount = 0;
+            Iterator<Appointment> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                Appointment app = iterator.next();
                 table.addCell(new Cell().add(new Paragraph(String.valueOf(app.getId())).setFontSize(8)));
                 table.addCell(new Cell().add(new Paragraph(app.getApplicant().getPhoneNumber())).setFontSize(8));
                 table.addCell(new Cell().add(new Paragraph(app.getTimeSlot().getStartTime().format(DATE_TIME_FORMATTER))).setFontSize(8));
@@ -70,16 +77,21 @@ public class PdfReportGenerator implements ReportGenerator {
                 table.addCell(new Cell().add(new Paragraph(witness3)).setFontSize(8));
                 table.addCell(new Cell().add(new Paragraph(app.getNotes() != null ? app.getNotes() : "")).setFontSize(8));
                 table.addCell(new Cell().add(new Paragraph(app.getRejectionReason() != null ? app.getRejectionReason() : "")).setFontSize(8));
+
+                if (++rowCount % TABLE_FLUSH_INTERVAL == 0) {
+                    table.flush();
+                    pdf.getWriter().flush();
+                }
             }
 
-            document.add(table);
+            table.complete();
             document.close();
+            out.flush();
 
-            logger.info("Successfully generated pdf appointment report from {} to {}", startDate, endDate);
-            return new ByteArrayInputStream(out.toByteArray());
+            logger.info("Successfully generated pdf appointment report from {} to {} with {} rows", startDate, endDate, rowCount);
         } catch (Exception e) {
             logger.error("Failure to generate appointment report pdf file: {}", e.getMessage(), e);
-            return null;
+            throw new ReportGenerationException("Could not generate pdf report.", e);
         }
     }
 
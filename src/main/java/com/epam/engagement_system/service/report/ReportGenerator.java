@@ -2,12 +2,12 @@ package com.epam.engagement_system.service.report;
 
 import com.epam.engagement_system.domain.Appointment;
 
-import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReportGenerator {
-    ByteArrayInputStream generate(List<Appointment> appointments, LocalDate startDate, LocalDate endDate);
+    void generate(Stream<Appointment> appointments, LocalDate startDate, LocalDate endDate, OutputStream out);
     String getContentType();
     String getFilenameExtension();
 }
@@ -0,0 +1,46 @@
+package com.epam.engagement_system.service.schedule;
+
+import com.epam.engagement_system.repository.SlotBatch;
+
+import java.util.Arrays;
+
+// The slots of one day as minutes after midnight.
+public final class DayTemplate {
+    static final DayTemplate CLOSED = new DayTemplate(new int[0], new int[0], new int[0]);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int[] startMinutes;
+    private final int[] endMinutes;
+    private final int[] capacities;
+
+    DayTemplate(int[] startMinutes, int[] endMinutes, int[] capacities) {
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.capacities = capacities;
+    }
+
+    public void appendTo(long epochDay, SlotBatch slots) {
+        long midnight = epochDay * MINUTES_PER_DAY;
+        for (int i = 0; i < startMinutes.length; i++) {
+            slots.add(midnight + startMinutes[i], midnight + endMinutes[i], capacities[i]);
+        }
+    }
+
+    public int size() {
+        return startMinutes.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DayTemplate template
+                && Arrays.equals(startMinutes, template.startMinutes)
+                && Arrays.equals(endMinutes, template.endMinutes)
+                && Arrays.equals(capacities, template.capacities);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(startMinutes) + Arrays.hashCode(endMinutes)) + Arrays.hashCode(capacities);
+    }
+}
@@ -0,0 +1,114 @@
+package com.epam.engagement_system.service.schedule;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedule rules compiled into one immutable {@link DayTemplate} per weekday plus one per date that has rules of its own.
+ * A date with its own opening hours uses only its own rules; a date with only breaks keeps the hours and breaks of its
+ * weekday and adds its breaks; a closed date or weekday has no slots.
+ */
+public final class ScheduleTemplate {
+    private final Map<DayOfWeek, DayTemplate> weekdays;
+    private final Map<LocalDate, DayTemplate> dates;
+
+    private ScheduleTemplate(Map<DayOfWeek, DayTemplate> weekdays, Map<LocalDate, DayTemplate> dates) {
+        this.weekdays = weekdays;
+        this.dates = dates;
+    }
+
+    public DayTemplate forDate(LocalDate date) {
+        DayTemplate template = dates.get(date);
+        return template != null ? template : weekdays.get(date.getDayOfWeek());
+    }
+
+    public static ScheduleTemplate compile(Collection<ScheduleRule> rules) {
+        Map<DayOfWeek, List<ScheduleRule>> weekdayRules = new EnumMap<>(DayOfWeek.class);
+        Map<LocalDate, List<ScheduleRule>> dateRules = new HashMap<>();
+        for (ScheduleRule rule : rules) {
+            if (rule.getDate() != null) {
+                dateRules.computeIfAbsent(rule.getDate(), date -> new ArrayList<>()).add(rule);
+            } else {
+                weekdayRules.computeIfAbsent(rule.getDayOfWeek(), day -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        Map<DayOfWeek, DayTemplate> weekdays = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            weekdays.put(day, build(weekdayRules.getOrDefault(day, List.of())));
+        }
+
+        Map<LocalDate, DayTemplate> dates = new HashMap<>();
+        dateRules.forEach((date, ownRules) -> {
+            List<ScheduleRule> effective = new ArrayList<>(ownRules);
+            if (ownRules.stream().noneMatch(rule -> rule.getType() == ScheduleRuleType.OPENING_HOURS)) {
+                effective.addAll(weekdayRules.getOrDefault(date.getDayOfWeek(), List.of()));
+            }
+            dates.put(date, build(effective));
+        });
+        return new ScheduleTemplate(weekdays, Map.copyOf(dates));
+    }
+
+    private static DayTemplate build(List<ScheduleRule> rules) {
+        if (rules.stream().anyMatch(rule -> rule.getType() == ScheduleRuleType.CLOSED)) {
+            return DayTemplate.CLOSED;
+        }
+        List<ScheduleRule> breaks = rules.stream().filter(rule -> rule.getType() == ScheduleRuleType.BREAK).toList();
+        List<ScheduleRule> openingHours = rules.stream()
+                .filter(rule -> rule.getType() == ScheduleRuleType.OPENING_HOURS)
+                .sorted(Comparator.comparing(ScheduleRule::getStartTime))
+                .toList();
+
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int[] capacities = new int[16];
+        int size = 0;
+        int previousEnd = 0;
+        for (ScheduleRule hours : openingHours) {
+            int closing = minuteOf(hours.getEndTime());
+            for (int start = Math.max(minuteOf(hours.getStartTime()), previousEnd), end = start + hours.getSlotMinutes();
+                 end <= closing; start = end, end = start + hours.getSlotMinutes()) {
+                if (overlapsBreak(start, end, breaks)) {
+                    continue;
+                }
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                    capacities = Arrays.copyOf(capacities, size * 2);
+                }
+                starts[size] = start;
+                ends[size] = end;
+                capacities[size] = hours.getCapacity() == null ? 1 : hours.getCapacity();
+                size++;
+                previousEnd = end;
+            }
+        }
+        return size == 0 ? DayTemplate.CLOSED
+                : new DayTemplate(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(capacities, size));
+    }
+
+    private static boolean overlapsBreak(int start, int end, List<ScheduleRule> breaks) {
+        for (ScheduleRule pause : breaks) {
+            if (start < minuteOf(pause.getEndTime()) && end > minuteOf(pause.getStartTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,63 @@
+package com.epam.engagement_system.service.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process stand-in for local development and load tests: nothing leaves the machine,
+// every message waits a simulated provider round-trip and a configurable share of them fails.
+@Component
+@ConditionalOnProperty(name = "app.sms.gateway", havingValue = "local")
+public class LocalSmsGateway implements SmsGateway {
+    private static final Logger logger = LoggerFactory.getLogger(LocalSmsGateway.class);
+
+    private final Duration latency;
+    private final Duration latencyJitter;
+    private final double failureRate;
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public LocalSmsGateway(@Value("${app.sms.local.latency:PT0.2S}") Duration latency,
+                           @Value("${app.sms.local.latency-jitter:PT0.1S}") Duration latencyJitter,
+                           @Value("${app.sms.local.failure-rate:0.0}") double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("SMS failure rate must be between 0 and 1.");
+        }
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public void send(String recipient, String messageBody) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayNanos = latency.toNanos() + (latencyJitter.isZero() ? 0 : random.nextLong(latencyJitter.toNanos() + 1));
+        try {
+            Thread.sleep(Duration.ofNanos(delayNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SMS sending was interrupted.", e);
+        }
+
+        if (random.nextDouble() < failureRate) {
+            failedCount.incrementAndGet();
+            throw new IllegalStateException("Simulated SMS provider failure.");
+        }
+        sentCount.incrementAndGet();
+        logger.debug("Local SMS gateway accepted a message of {} characters", messageBody.length());
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
@@ -0,0 +1,9 @@
+package com.epam.engagement_system.service.sms;
+
+public interface SmsGateway {
+    /**
+     * Sends the message and returns once the provider has accepted it.
+     * Throws an exception when the provider rejects the message or cannot be reached.
+     */
+    void send(String recipient, String messageBody);
+}
@@ -0,0 +1,26 @@
+package com.epam.engagement_system.service.sms;
+
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.sms.gateway", havingValue = "twilio", matchIfMissing = true)
+public class TwilioSmsGateway implements SmsGateway {
+    private final PhoneNumber from;
+
+    public TwilioSmsGateway(@Value("${twilio.sms.number}") String fromPhoneNumber) {
+        this.from = new PhoneNumber(fromPhoneNumber);
+    }
+
+    @Override
+    public void send(String recipient, String messageBody) {
+        Message message = Message.creator(new PhoneNumber(recipient), from, messageBody).create();
+
+        if (message.getStatus() == Message.Status.FAILED || message.getStatus() == Message.Status.CANCELED) {
+            throw new IllegalStateException("Twilio failed to send SMS. Status: " + message.getStatus() + ", Error: " + message.getErrorMessage());
+        }
+    }
+}
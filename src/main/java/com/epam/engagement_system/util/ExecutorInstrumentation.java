@@ -0,0 +1,100 @@
+package com.epam.engagement_system.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tracks tasks from submission to completion, so the same metrics work for pooled and virtual-thread executors:
+// task.executor.queued/active/saturation gauges, task.executor.wait/duration timers and a task.executor.rejected counter.
+public class ExecutorInstrumentation implements TaskDecorator {
+    private final String name;
+    private final int capacity;
+    private final double saturationThreshold;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+    private final Counter rejected;
+
+    /**
+     * @param capacity how many tasks the executor holds before it rejects (threads plus queue), or 0 when unbounded
+     */
+    public ExecutorInstrumentation(String name, int capacity, double saturationThreshold, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.saturationThreshold = saturationThreshold;
+        this.waitTimer = Timer.builder("task.executor.wait").tag("executor", name).register(meterRegistry);
+        this.durationTimer = Timer.builder("task.executor.duration").tag("executor", name).register(meterRegistry);
+        this.rejected = Counter.builder("task.executor.rejected").tag("executor", name).register(meterRegistry);
+        Gauge.builder("task.executor.queued", queued, AtomicInteger::get).tag("executor", name).register(meterRegistry);
+        Gauge.builder("task.executor.active", active, AtomicInteger::get).tag("executor", name).register(meterRegistry);
+        Gauge.builder("task.executor.saturation", this, ExecutorInstrumentation::saturation).tag("executor", name).register(meterRegistry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        queued.incrementAndGet();
+        return new InstrumentedTask(runnable, System.nanoTime());
+    }
+
+    public RejectedExecutionHandler countingRejections(RejectedExecutionHandler delegate) {
+        return (runnable, executor) -> {
+            rejected.increment();
+            try {
+                delegate.rejectedExecution(runnable, executor);
+            } catch (RejectedExecutionException e) {
+                if (runnable instanceof InstrumentedTask task) {
+                    task.abandon();
+                }
+                throw e;
+            }
+        };
+    }
+
+    public double saturation() {
+        return capacity > 0 ? (double) (queued.get() + active.get()) / capacity : 0;
+    }
+
+    public boolean isSaturated() {
+        return saturation() >= saturationThreshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private final class InstrumentedTask implements Runnable {
+        private final Runnable delegate;
+        private final long submittedAt;
+
+        private InstrumentedTask(Runnable delegate, long submittedAt) {
+            this.delegate = delegate;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                delegate.run();
+            } finally {
+                active.decrementAndGet();
+                durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void abandon() {
+            queued.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- A slot can host several ceremonies at once (parallel halls). Whether it is available follows from its booked count.
+ALTER TABLE time_slots ADD COLUMN capacity INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE time_slots ADD COLUMN booked_count INTEGER NOT NULL DEFAULT 0;
+UPDATE time_slots SET booked_count = 1 WHERE is_available = FALSE;
+ALTER TABLE time_slots DROP COLUMN is_available;
+ALTER TABLE time_slots ADD CONSTRAINT chk_time_slots_capacity CHECK (capacity > 0);
+ALTER TABLE time_slots ADD CONSTRAINT chk_time_slots_booked_count CHECK (booked_count BETWEEN 0 AND capacity);
+
+ALTER TABLE schedule_rules ADD COLUMN capacity INTEGER CHECK (capacity > 0);
+UPDATE schedule_rules SET capacity = 1 WHERE rule_type = 'OPENING_HOURS';
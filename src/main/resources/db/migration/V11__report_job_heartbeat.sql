@@ -0,0 +1,19 @@
+-- Active jobs are kept alive by the node that queued them. A job whose heartbeat stopped belongs to a node that died.
+ALTER TABLE report_jobs ADD COLUMN heartbeat_at TIMESTAMP(6) WITH TIME ZONE;
+UPDATE report_jobs SET heartbeat_at = coalesce(completed_at, created_at);
+ALTER TABLE report_jobs ALTER COLUMN heartbeat_at SET NOT NULL;
+
+-- Jobs failed by the old startup reset never got a retention deadline.
+UPDATE report_jobs SET expires_at = now() WHERE expires_at IS NULL;
+
+UPDATE report_jobs j
+SET status = 'FAILED', error_message = 'Superseded by a duplicate report job.', completed_at = now(), expires_at = now()
+WHERE j.status IN ('QUEUED', 'RUNNING')
+  AND EXISTS (SELECT 1 FROM report_jobs o
+              WHERE o.status IN ('QUEUED', 'RUNNING') AND o.format = j.format AND o.start_date = j.start_date
+                AND o.end_date = j.end_date AND o.data_version = j.data_version AND o.id > j.id);
+
+-- At most one job renders a given report at a time, however many nodes receive the request.
+CREATE UNIQUE INDEX uq_report_jobs_active ON report_jobs (format, start_date, end_date, data_version)
+    WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_report_jobs_active_heartbeat ON report_jobs (heartbeat_at) WHERE status IN ('QUEUED', 'RUNNING');
@@ -0,0 +1,8 @@
+-- One row per calendar day whose appointments changed. Versions come from a sequence, so they grow across nodes and
+-- restarts. Report jobs retained from before used boot-time based versions and never match these.
+CREATE SEQUENCE report_data_version_seq;
+
+CREATE TABLE report_data_versions (
+    day     DATE PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Admin messages wait in the outbox until their digest window closes, instead of in the memory of one node.
+ALTER TABLE outbox_messages DROP CONSTRAINT outbox_messages_channel_check;
+ALTER TABLE outbox_messages ADD CONSTRAINT outbox_messages_channel_check
+    CHECK (channel IN ('SMS', 'USER_QUEUE', 'TOPIC', 'ADMIN_DIGEST'));
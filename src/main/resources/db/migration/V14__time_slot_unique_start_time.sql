@@ -0,0 +1,21 @@
+-- Concurrent slot generations could insert the same start time twice. Each group keeps its most booked slot,
+-- which takes over the bookings and appointments of the others.
+CREATE TEMPORARY TABLE time_slot_duplicates AS
+SELECT id, first_value(id) OVER (PARTITION BY start_time ORDER BY booked_count DESC, id) AS keep_id
+FROM time_slots;
+DELETE FROM time_slot_duplicates WHERE id = keep_id;
+
+UPDATE time_slots ts
+SET booked_count = ts.booked_count + d.booked, capacity = greatest(ts.capacity, ts.booked_count + d.booked)
+FROM (SELECT dup.keep_id, sum(s.booked_count) AS booked
+      FROM time_slot_duplicates dup JOIN time_slots s ON s.id = dup.id
+      GROUP BY dup.keep_id) d
+WHERE ts.id = d.keep_id;
+
+UPDATE appointments a SET time_slot_id = d.keep_id FROM time_slot_duplicates d WHERE a.time_slot_id = d.id;
+DELETE FROM time_slots ts USING time_slot_duplicates d WHERE ts.id = d.id;
+DROP TABLE time_slot_duplicates;
+
+-- Also serves the range lookups the plain index was created for.
+DROP INDEX IF EXISTS idx_time_slots_start_time;
+CREATE UNIQUE INDEX uq_time_slots_start_time ON time_slots (start_time);
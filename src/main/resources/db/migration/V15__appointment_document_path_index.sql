@@ -0,0 +1,2 @@
+-- existsByDocumentPath is the reference count of a shared document, checked before the file is deleted.
+CREATE INDEX IF NOT EXISTS idx_appointments_document_path ON appointments (document_path);
@@ -0,0 +1,3 @@
+-- Day versions are now per-day counters summed over a report period; a sequence value taken before commit
+-- could make a later-committing change invisible to the period's maximum.
+DROP SEQUENCE IF EXISTS report_data_version_seq;
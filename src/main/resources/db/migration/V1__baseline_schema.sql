@@ -0,0 +1,61 @@
+-- Schema previously created by hibernate ddl-auto=update. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs against empty databases.
+
+CREATE TABLE IF NOT EXISTS application_users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone_number VARCHAR(255) NOT NULL UNIQUE,
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    gender       VARCHAR(255) CHECK (gender IN ('MALE', 'FEMALE'))
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE CHECK (name IN ('ADMIN', 'USER'))
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES application_users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS time_slots (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_time   TIMESTAMP(6) NOT NULL,
+    end_time     TIMESTAMP(6) NOT NULL,
+    is_available BOOLEAN      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id              BIGINT                      NOT NULL REFERENCES application_users (id),
+    time_slot_id         BIGINT                      NOT NULL REFERENCES time_slots (id),
+    groom_first_name     VARCHAR(255)                NOT NULL,
+    groom_last_name      VARCHAR(255)                NOT NULL,
+    bride_first_name     VARCHAR(255)                NOT NULL,
+    bride_last_name      VARCHAR(255)                NOT NULL,
+    witness_1_first_name VARCHAR(255)                NOT NULL,
+    witness_1_last_name  VARCHAR(255)                NOT NULL,
+    witness_2_first_name VARCHAR(255)                NOT NULL,
+    witness_2_last_name  VARCHAR(255)                NOT NULL,
+    witness_3_first_name VARCHAR(255),
+    witness_3_last_name  VARCHAR(255),
+    status               VARCHAR(255)                NOT NULL
+        CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'COMPLETED', 'CANCELLED')),
+    notes                VARCHAR(500),
+    created_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    reminder_sent        BOOLEAN                     NOT NULL,
+    document_path        VARCHAR(255)                NOT NULL,
+    rejection_reason     VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT                      NOT NULL REFERENCES application_users (id),
+    message    VARCHAR(500)                NOT NULL,
+    is_read    BOOLEAN                     NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO roles (name) VALUES ('ADMIN'), ('USER') ON CONFLICT (name) DO NOTHING;
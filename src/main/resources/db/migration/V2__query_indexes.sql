@@ -0,0 +1,22 @@
+-- Slot range lookups: monthly availability, slot generation and the report/reminder joins.
+CREATE INDEX IF NOT EXISTS idx_time_slots_start_time ON time_slots (start_time);
+
+-- Admin queue by status, oldest first; id breaks ties between equal creation times.
+CREATE INDEX IF NOT EXISTS idx_appointments_status_created_at ON appointments (status, created_at, id);
+
+-- "My appointments" and the single active appointment check.
+CREATE INDEX IF NOT EXISTS idx_appointments_user_id_status ON appointments (user_id, status);
+
+-- Joins from time slots to their appointments (reports).
+CREATE INDEX IF NOT EXISTS idx_appointments_time_slot_id ON appointments (time_slot_id);
+
+-- Hourly reminder job only ever looks at approved appointments that were not reminded yet.
+CREATE INDEX IF NOT EXISTS idx_appointments_reminder_due ON appointments (time_slot_id)
+    WHERE status = 'APPROVED' AND reminder_sent = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_id_created_at ON notifications (user_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications (user_id) WHERE is_read = FALSE;
+
+-- Admin lookup by role name.
+CREATE INDEX IF NOT EXISTS idx_user_roles_role_id ON user_roles (role_id);
@@ -0,0 +1,22 @@
+CREATE TABLE report_jobs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    format         VARCHAR(10)                 NOT NULL,
+    start_date     DATE                        NOT NULL,
+    end_date       DATE                        NOT NULL,
+    status         VARCHAR(20)                 NOT NULL
+        CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    file_name      VARCHAR(255)                NOT NULL,
+    content_type   VARCHAR(255)                NOT NULL,
+    stored_file    VARCHAR(255),
+    file_size      BIGINT,
+    total_rows     BIGINT,
+    processed_rows BIGINT                      NOT NULL,
+    error_message  VARCHAR(500),
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed_at   TIMESTAMP(6) WITH TIME ZONE,
+    expires_at     TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Lookup of a reusable report for the same period and format.
+CREATE INDEX idx_report_jobs_period ON report_jobs (format, start_date, end_date, created_at DESC);
+CREATE INDEX idx_report_jobs_expires_at ON report_jobs (expires_at);
@@ -0,0 +1,3 @@
+-- Jobs created before data versions existed are never reused.
+ALTER TABLE report_jobs ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE report_jobs ALTER COLUMN data_version DROP DEFAULT;
@@ -0,0 +1,5 @@
+-- Notifications get their ids from a pooled sequence so Hibernate can batch inserts.
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 50;
+SELECT setval('notifications_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM notifications));
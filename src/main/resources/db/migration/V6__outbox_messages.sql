@@ -0,0 +1,20 @@
+CREATE SEQUENCE IF NOT EXISTS outbox_messages_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_messages (
+    id              BIGINT PRIMARY KEY,
+    channel         VARCHAR(20)                 NOT NULL CHECK (channel IN ('SMS', 'USER_QUEUE', 'TOPIC')),
+    destination     VARCHAR(255)                NOT NULL,
+    payload         VARCHAR(2000)               NOT NULL,
+    idempotency_key VARCHAR(100)                NOT NULL UNIQUE,
+    status          VARCHAR(20)                 NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts        INTEGER                     NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Due messages for the dispatcher.
+CREATE INDEX idx_outbox_messages_due ON outbox_messages (next_attempt_at, id) WHERE status = 'PENDING';
+-- Purge of delivered messages.
+CREATE INDEX idx_outbox_messages_sent_at ON outbox_messages (sent_at) WHERE status = 'SENT';
@@ -0,0 +1,10 @@
+CREATE TABLE one_time_passwords (
+    phone_number      VARCHAR(20)                 PRIMARY KEY,
+    code_hash         VARCHAR(64),
+    expires_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    window_started_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    request_count     INTEGER                     NOT NULL
+);
+
+-- Sweep of expired codes.
+CREATE INDEX idx_one_time_passwords_expires_at ON one_time_passwords (expires_at);
@@ -0,0 +1,5 @@
+-- Time slots get their ids from a pooled sequence so slot generation can insert them in bulk.
+ALTER TABLE time_slots ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS time_slots_seq INCREMENT BY 50;
+SELECT setval('time_slots_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM time_slots));
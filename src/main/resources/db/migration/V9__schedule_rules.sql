@@ -0,0 +1,24 @@
+CREATE TABLE schedule_rules (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rule_type    VARCHAR(20) NOT NULL CHECK (rule_type IN ('OPENING_HOURS', 'BREAK', 'CLOSED')),
+    day_of_week  VARCHAR(10) CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    rule_date    DATE,
+    start_time   TIME(0),
+    end_time     TIME(0),
+    slot_minutes INTEGER,
+    description  VARCHAR(255),
+    -- A rule applies either to a weekday or to a single date.
+    CHECK ((day_of_week IS NULL) <> (rule_date IS NULL))
+);
+
+-- The schedule that used to be hardcoded in TimeSlotService.
+INSERT INTO schedule_rules (rule_type, day_of_week, start_time, end_time, slot_minutes, description)
+SELECT 'OPENING_HOURS', d, TIME '09:00', TIME '18:00', 30, 'Opening hours'
+FROM unnest(ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY']) AS d;
+
+INSERT INTO schedule_rules (rule_type, day_of_week, start_time, end_time, description)
+SELECT 'BREAK', d, TIME '12:00', TIME '13:00', 'Lunch break'
+FROM unnest(ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'SATURDAY', 'SUNDAY']) AS d;
+
+INSERT INTO schedule_rules (rule_type, day_of_week, start_time, end_time, description)
+VALUES ('BREAK', 'FRIDAY', TIME '12:30', TIME '14:00', 'Friday lunch break');
@@ -0,0 +1,199 @@
+package com.epam.engagement_system.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with: mvn test -Pquery-plans
+// The SQL below mirrors what Hibernate generates for the repository queries, with literal parameters
+// picked so that each query is selective the way it is in production.
+@Tag("query-plan")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Repository query plans")
+class QueryPlanRegressionTest {
+    private static final Set<String> LARGE_TABLES = Set.of("appointments", "time_slots", "notifications");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO application_users (phone_number, first_name, last_name, gender)
+                    SELECT '+7700' || lpad(g::text, 7, '0'), 'First', 'Last', 'MALE'
+                    FROM generate_series(1, 100000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO time_slots (id, start_time, end_time, capacity, booked_count)
+                    SELECT row_number() OVER (), d + slot * interval '30 minutes', d + (slot + 1) * interval '30 minutes',
+                           1, CASE WHEN d >= timestamp '2025-01-01' THEN 0 ELSE 1 END
+                    FROM generate_series(timestamp '2010-01-01 09:00', timestamp '2026-12-31 09:00', interval '1 day') d,
+                         generate_series(0, 15) slot
+                    """);
+            statement.execute("""
+                    INSERT INTO appointments (user_id, time_slot_id, groom_first_name, groom_last_name,
+                                              bride_first_name, bride_last_name, witness_1_first_name, witness_1_last_name,
+                                              witness_2_first_name, witness_2_last_name, status, created_at,
+                                              reminder_sent, document_path)
+                    SELECT g % 100000 + 1, g % 90000 + 1, 'Groom', 'Groom', 'Bride', 'Bride', 'W', 'W', 'W', 'W',
+                           CASE WHEN g % 1000 = 0 THEN 'PENDING'
+                                WHEN g % 100 < 3 THEN 'APPROVED'
+                                WHEN g % 100 < 60 THEN 'COMPLETED'
+                                WHEN g % 100 < 80 THEN 'REJECTED'
+                                ELSE 'CANCELLED' END,
+                           timestamp with time zone '2010-01-01 00:00+00' + g * interval '4 minutes',
+                           g % 100 <> 1,
+                           g || '.pdf'
+                    FROM generate_series(1, 1000000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO notifications (id, user_id, message, is_read, created_at)
+                    SELECT g, g % 100000 + 1, 'Message', g % 10 <> 0, timestamp with time zone '2020-01-01 00:00+00' + g * interval '1 minute'
+                    FROM generate_series(1, 500000) g
+                    """);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("AppointmentRepository.findByApplicantId", """
+                        SELECT a.*, ts.*, u.* FROM appointments a
+                        JOIN time_slots ts ON ts.id = a.time_slot_id
+                        LEFT JOIN application_users u ON u.id = a.user_id
+                        WHERE a.user_id = 4242 ORDER BY a.created_at DESC
+                        """),
+                Arguments.of("AppointmentRepository.existsByApplicantIdAndStatusIn", """
+                        SELECT a.id FROM appointments a
+                        WHERE a.user_id = 4242 AND a.status IN ('PENDING', 'APPROVED') FETCH FIRST 1 ROWS ONLY
+                        """),
+                Arguments.of("AppointmentRepository.findSummariesByStatus", """
+                        SELECT a.id, a.status, ts.start_time, ts.end_time, u.phone_number, a.created_at FROM appointments a
+                        JOIN time_slots ts ON ts.id = a.time_slot_id
+                        JOIN application_users u ON u.id = a.user_id
+                        WHERE a.status = 'COMPLETED' ORDER BY a.created_at ASC, a.id ASC FETCH FIRST 51 ROWS ONLY
+                        """),
+                Arguments.of("AppointmentRepository.findSummariesByStatusAfter", """
+                        SELECT a.id, a.status, ts.start_time, ts.end_time, u.phone_number, a.created_at FROM appointments a
+                        JOIN time_slots ts ON ts.id = a.time_slot_id
+                        JOIN application_users u ON u.id = a.user_id
+                        WHERE a.status = 'COMPLETED' AND a.created_at >= timestamp with time zone '2014-01-01 00:00+00'
+                          AND (a.created_at > timestamp with time zone '2014-01-01 00:00+00' OR a.id > 500000)
+                        ORDER BY a.created_at ASC, a.id ASC FETCH FIRST 51 ROWS ONLY
+                        """),
+                Arguments.of("AppointmentRepository.existsByDocumentPath", """
+                        SELECT a.id FROM appointments a WHERE a.document_path = '424242.pdf' FETCH FIRST 1 ROWS ONLY
+                        """),
+                Arguments.of("AppointmentRepository.findAppointmentsForReminder", """
+                        SELECT a.*, u.*, ts.* FROM appointments a
+                        JOIN application_users u ON u.id = a.user_id
+                        JOIN time_slots ts ON ts.id = a.time_slot_id
+                        WHERE a.status = 'APPROVED' AND a.reminder_sent = FALSE
+                          AND ts.start_time > timestamp '2014-06-01 08:00' AND ts.start_time <= timestamp '2014-06-02 08:00'
+                        """),
+                Arguments.of("AppointmentRepository.streamAllWithTimeSlotBetween", """
+                        SELECT a.*, ts.*, u.* FROM appointments a
+                        JOIN time_slots ts ON ts.id = a.time_slot_id
+                        JOIN application_users u ON u.id = a.user_id
+                        WHERE ts.start_time BETWEEN timestamp '2014-06-01 00:00' AND timestamp '2014-06-30 23:59:59'
+                        ORDER BY a.id ASC
+                        """),
+                Arguments.of("TimeSlotRepository.insertMissing", """
+                        INSERT INTO time_slots (id, start_time, end_time, capacity, booked_count)
+                        SELECT u.id, timestamp 'epoch' + u.start_minute * interval '1 minute',
+                               timestamp 'epoch' + u.end_minute * interval '1 minute', u.capacity, 0
+                        FROM unnest(ARRAY[1, 2]::bigint[], ARRAY[29667660, 29667690]::bigint[],
+                                    ARRAY[29667690, 29667720]::bigint[], ARRAY[1, 1]::bigint[])
+                             AS u(id, start_minute, end_minute, capacity)
+                        ON CONFLICT (start_time) DO NOTHING
+                        """),
+                Arguments.of("TimeSlotRepository.deleteUnbookedNotIn", """
+                        SELECT ts.id FROM time_slots ts, unnest(ARRAY[date '2026-06-01', date '2026-06-08']) AS d(day)
+                        WHERE ts.start_time >= d.day AND ts.start_time < d.day + 1 AND ts.booked_count = 0
+                          AND NOT EXISTS (SELECT 1 FROM appointments a WHERE a.time_slot_id = ts.id)
+                        """),
+                Arguments.of("TimeSlotRepository.findByStartTimeBetweenOrderByStartTimeAsc", """
+                        SELECT ts.* FROM time_slots ts
+                        WHERE ts.start_time BETWEEN timestamp '2026-06-01 00:00' AND timestamp '2026-06-30 23:59:59'
+                        ORDER BY ts.start_time ASC
+                        """),
+                Arguments.of("TimeSlotRepository.updateCapacities", """
+                        SELECT ts.id FROM time_slots ts,
+                             unnest(ARRAY[29667660, 29667690]::bigint[], ARRAY[29667690, 29667720]::bigint[], ARRAY[2, 2]::bigint[])
+                             AS k(start_minute, end_minute, capacity)
+                        WHERE ts.start_time = timestamp 'epoch' + k.start_minute * interval '1 minute'
+                          AND ts.end_time = timestamp 'epoch' + k.end_minute * interval '1 minute'
+                          AND ts.capacity <> k.capacity AND ts.booked_count <= k.capacity
+                        """),
+                Arguments.of("TimeSlotRepository.claimSeat", """
+                        UPDATE time_slots SET booked_count = booked_count + 1 WHERE id = 90500 AND booked_count < capacity
+                        """),
+                Arguments.of("NotificationRepository.findByUserIdOrderByCreatedAtDesc", """
+                        SELECT n.*, u.* FROM notifications n
+                        JOIN application_users u ON u.id = n.user_id
+                        WHERE u.id = 4242 ORDER BY n.created_at DESC
+                        """),
+                Arguments.of("NotificationRepository.findByUserIdAndIsReadFalse", """
+                        SELECT n.* FROM notifications n WHERE n.user_id = 4242 AND n.is_read = FALSE
+                        """)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_ShouldNotScanLargeTablesSequentially(String queryName, String sql) throws Exception {
+        JsonNode plan;
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            resultSet.next();
+            plan = new ObjectMapper().readTree(resultSet.getString(1)).get(0).get("Plan");
+        }
+
+        List<String> sequentialScans = new ArrayList<>();
+        collectSequentialScans(plan, sequentialScans);
+        assertTrue(sequentialScans.isEmpty(),
+                queryName + " degraded to a sequential scan on " + sequentialScans + ":\n" + plan.toPrettyString());
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, sequentialScans);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
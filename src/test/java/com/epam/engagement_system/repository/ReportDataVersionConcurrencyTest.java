@@ -0,0 +1,123 @@
+package com.epam.engagement_system.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pdatabase
+// Executes the statements declared on ReportDataVersionRepository, each change in its own transaction on its own
+// connection, and commits them in the opposite order of their bumps.
+@Tag("database")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Report data versions against PostgreSQL")
+class ReportDataVersionConcurrencyTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static String bumpSql;
+    private static String sumSql;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        bumpSql = ReportDataVersionRepository.class.getMethod("bump", LocalDate.class)
+                .getAnnotation(Query.class).value()
+                .replace(":day", "?");
+        sumSql = ReportDataVersionRepository.class.getMethod("sumVersions", LocalDate.class, LocalDate.class)
+                .getAnnotation(Query.class).value()
+                .replace(":startDate", "?").replace(":endDate", "?");
+    }
+
+    @Test
+    @DisplayName("a change committed after a later bump of another day should still change the period version")
+    void sumVersions_OutOfOrderCommitsOnDifferentDays_ShouldChangeVersion() throws Exception {
+        LocalDate first = LocalDate.of(2030, 3, 1);
+        LocalDate second = LocalDate.of(2030, 3, 2);
+        try (Connection earlier = transaction(); Connection later = transaction()) {
+            bump(earlier, first);
+            bump(later, second);
+            later.commit();
+            long withLaterChange = sumVersions(first, second);
+
+            earlier.commit();
+
+            assertTrue(sumVersions(first, second) > withLaterChange);
+        }
+    }
+
+    @Test
+    @DisplayName("a change of the same day committed after another one should still change the period version")
+    void sumVersions_QueuedCommitOnSameDay_ShouldChangeVersion() throws Exception {
+        LocalDate day = LocalDate.of(2030, 4, 1);
+        try (Connection setup = transaction()) {
+            bump(setup, day);
+            setup.commit();
+        }
+        try (Connection first = transaction(); Connection second = transaction();
+             ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            bump(first, day);
+            Future<?> waiting = executor.submit(() -> {
+                bump(second, day);
+                return null;
+            });
+            first.commit();
+            waiting.get();
+            long withFirstChange = sumVersions(day, day);
+
+            second.commit();
+
+            assertTrue(sumVersions(day, day) > withFirstChange);
+        }
+    }
+
+    private static void bump(Connection connection, LocalDate day) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(bumpSql)) {
+            statement.setDate(1, Date.valueOf(day));
+            statement.executeUpdate();
+        }
+    }
+
+    private static long sumVersions(LocalDate startDate, LocalDate endDate) throws SQLException {
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sumSql)) {
+            statement.setDate(1, Date.valueOf(startDate));
+            statement.setDate(2, Date.valueOf(endDate));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static Connection transaction() throws SQLException {
+        Connection connection = connect();
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,119 @@
+package com.epam.engagement_system.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pdatabase
+// Executes the conditional UPDATE exactly as declared on TimeSlotRepository.claimSeat, each claim in its own
+// transaction on its own connection, the way concurrent bookings reach the database.
+@Tag("database")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Time slot claims against PostgreSQL")
+class SlotClaimConcurrencyTest {
+    private static final int REQUESTS = 1000;
+    private static final int CONNECTIONS = 50;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "max_connections=" + (CONNECTIONS + 10));
+
+    private static String claimSeatSql;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        claimSeatSql = TimeSlotRepository.class.getMethod("claimSeat", Long.class)
+                .getAnnotation(Query.class)
+                .value()
+                .replace(":id", "?");
+    }
+
+    @ParameterizedTest(name = "capacity {0}")
+    @ValueSource(ints = {1, 3, 20})
+    @DisplayName("1000 concurrent claims should book exactly as many seats as the slot has")
+    void claimSeat_ConcurrentRequests_ShouldNotOverbook(int capacity) throws Exception {
+        long slotId = insertSlot(capacity);
+        AtomicInteger remainingRequests = new AtomicInteger(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Integer>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONNECTIONS)) {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                workers.add(executor.submit(() -> {
+                    int claimed = 0;
+                    try (Connection connection = connect(); PreparedStatement claim = connection.prepareStatement(claimSeatSql)) {
+                        connection.setAutoCommit(false);
+                        start.await();
+                        while (remainingRequests.getAndDecrement() > 0) {
+                            claim.setLong(1, slotId);
+                            claimed += claim.executeUpdate();
+                            connection.commit();
+                        }
+                    }
+                    return claimed;
+                }));
+            }
+            start.countDown();
+
+            int bookings = 0;
+            for (Future<Integer> worker : workers) {
+                bookings += worker.get();
+            }
+            assertEquals(capacity, bookings);
+        }
+        assertEquals(capacity, bookedCount(slotId));
+    }
+
+    private static long insertSlot(int capacity) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     INSERT INTO time_slots (id, start_time, end_time, capacity, booked_count)
+                     SELECT coalesce(max(id), 0) + 1, timestamp '2030-01-01 09:00' + (coalesce(max(id), 0) + 1) * interval '1 day',
+                            timestamp '2030-01-01 09:30' + (coalesce(max(id), 0) + 1) * interval '1 day', %d, 0
+                     FROM time_slots
+                     RETURNING id
+                     """.formatted(capacity))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static int bookedCount(long slotId) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT booked_count FROM time_slots WHERE id = " + slotId)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,152 @@
+package com.epam.engagement_system.security;
+
+import com.epam.engagement_system.domain.ApplicationUser;
+import com.epam.engagement_system.domain.Role;
+import com.epam.engagement_system.domain.enums.RoleType;
+import com.epam.engagement_system.repository.RoleRepository;
+import com.epam.engagement_system.repository.UserRepository;
+import com.epam.engagement_system.service.cache.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApplicationUserDetailsService unit tests")
+class ApplicationUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RoleRepository roleRepository;
+
+    private UserPrincipalCache principalCache;
+    private ApplicationUserDetailsService userDetailsService;
+    private Role userRole;
+    private final String phoneNumber = "+77001234567";
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new UserPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        ApplicationUserDetailsService self = mock(ApplicationUserDetailsService.class);
+        userDetailsService = new ApplicationUserDetailsService(self, userRepository, roleRepository, principalCache);
+        lenient().when(self.loadPrincipal(any())).thenAnswer(invocation -> userDetailsService.loadPrincipal(invocation.getArgument(0)));
+
+        userRole = new Role();
+        userRole.setId(1L);
+        userRole.setName(RoleType.USER);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should query the database only on the first login")
+    void loadUserByUsername_RepeatedLogins_ShouldHitCache() {
+        ApplicationUser user = new ApplicationUser(phoneNumber);
+        user.setId(5L);
+        user.setRoles(Set.of(userRole));
+        when(userRepository.findWithRolesByPhoneNumber(phoneNumber)).thenReturn(Optional.of(user));
+
+        UserDetails first = userDetailsService.loadUserByUsername(phoneNumber);
+        UserDetails second = userDetailsService.loadUserByUsername(phoneNumber);
+
+        assertSame(first, second);
+        assertEquals(5L, ((UserPrincipal) first).getId());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findWithRolesByPhoneNumber(phoneNumber);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should create new users with the role loaded at startup")
+    void loadUserByUsername_NewUser_ShouldUsePreloadedRole() {
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+        when(userRepository.findWithRolesByPhoneNumber(phoneNumber)).thenReturn(Optional.empty());
+        when(userRepository.save(any(ApplicationUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        userDetailsService.loadRoles();
+
+        userDetailsService.loadUserByUsername(phoneNumber);
+
+        ArgumentCaptor<ApplicationUser> captor = ArgumentCaptor.forClass(ApplicationUser.class);
+        verify(userRepository).save(captor.capture());
+        assertEquals(Set.of(userRole), captor.getValue().getRoles());
+        verify(roleRepository, never()).findByName(any());
+    }
+
+    @Test
+    @DisplayName("invalidate should make the next login reload the user")
+    void loadUserByUsername_AfterInvalidate_ShouldReload() {
+        ApplicationUser user = new ApplicationUser(phoneNumber);
+        user.setId(5L);
+        user.setRoles(Set.of(userRole));
+        when(userRepository.findWithRolesByPhoneNumber(phoneNumber)).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername(phoneNumber);
+        principalCache.invalidate(phoneNumber);
+        userDetailsService.loadUserByUsername(phoneNumber);
+
+        verify(userRepository, times(2)).findWithRolesByPhoneNumber(phoneNumber);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should cache a user loaded in a transaction only after it commits")
+    void loadUserByUsername_InTransaction_ShouldCacheAfterCommit() {
+        ApplicationUser user = new ApplicationUser(phoneNumber);
+        user.setId(5L);
+        user.setRoles(Set.of(userRole));
+        when(userRepository.findWithRolesByPhoneNumber(phoneNumber)).thenReturn(Optional.of(user));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDetailsService.loadUserByUsername(phoneNumber);
+            assertEquals(0, principalCache.size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userDetailsService.loadUserByUsername(phoneNumber);
+
+        assertEquals(1, principalCache.size());
+        verify(userRepository, times(1)).findWithRolesByPhoneNumber(phoneNumber);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should not cache a user created by a transaction that rolls back")
+    void loadUserByUsername_RolledBack_ShouldNotCache() {
+        when(roleRepository.findByName(RoleType.USER)).thenReturn(Optional.of(userRole));
+        when(userRepository.findWithRolesByPhoneNumber(phoneNumber)).thenReturn(Optional.empty());
+        when(userRepository.save(any(ApplicationUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDetailsService.loadUserByUsername(phoneNumber);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, principalCache.size());
+    }
+
+    @Test
+    @DisplayName("getRole should fail when a role is missing from the database")
+    void getRole_Missing_ShouldThrow() {
+        when(roleRepository.findByName(RoleType.ADMIN)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> userDetailsService.getRole(RoleType.ADMIN));
+    }
+}
@@ -0,0 +1,81 @@
+package com.epam.engagement_system.security;
+
+import com.epam.engagement_system.domain.enums.AppointmentStatus;
+import com.epam.engagement_system.dto.appointment.AppointmentAccess;
+import com.epam.engagement_system.repository.AppointmentRepository;
+import com.epam.engagement_system.service.cache.AppointmentAccessCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PermissionCheckService unit tests")
+class PermissionCheckServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private AppointmentAccessCache appointmentAccessCache;
+    private PermissionCheckService permissionCheckService;
+    private final UserPrincipal owner = new UserPrincipal(1L, "+77001234567", List.of());
+    private final AppointmentAccess access = new AppointmentAccess(10L, 1L, AppointmentStatus.PENDING, "document.pdf");
+
+    @BeforeEach
+    void setUp() {
+        appointmentAccessCache = new AppointmentAccessCache(appointmentRepository);
+        permissionCheckService = new PermissionCheckService(appointmentAccessCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("isAppointmentOwner should compare the applicant id of the appointment")
+    void isAppointmentOwner_ShouldCompareApplicant() {
+        when(appointmentRepository.findAccessById(10L)).thenReturn(Optional.of(access));
+        when(appointmentRepository.findAccessById(11L)).thenReturn(Optional.empty());
+
+        assertTrue(permissionCheckService.isAppointmentOwner(owner, 10L));
+        assertFalse(permissionCheckService.isAppointmentOwner(new UserPrincipal(2L, "+77007654321", List.of()), 10L));
+        assertFalse(permissionCheckService.isAppointmentOwner(owner, 11L));
+    }
+
+    @Test
+    @DisplayName("the row loaded for the check should be reused for the rest of the request")
+    void isAppointmentOwner_WithinRequest_ShouldLoadOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(appointmentRepository.findAccessById(10L)).thenReturn(Optional.of(access));
+
+        permissionCheckService.isAppointmentOwner(owner, 10L);
+        Optional<AppointmentAccess> reused = appointmentAccessCache.get(10L);
+
+        assertEquals(Optional.of(access), reused);
+        verify(appointmentRepository, times(1)).findAccessById(10L);
+    }
+
+    @Test
+    @DisplayName("rows should be loaded on every call outside of a request")
+    void get_OutsideRequest_ShouldNotCache() {
+        when(appointmentRepository.findAccessById(10L)).thenReturn(Optional.of(access));
+
+        appointmentAccessCache.get(10L);
+        appointmentAccessCache.get(10L);
+
+        verify(appointmentRepository, times(2)).findAccessById(10L);
+    }
+}
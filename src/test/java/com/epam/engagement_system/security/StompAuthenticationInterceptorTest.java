@@ -0,0 +1,76 @@
+package com.epam.engagement_system.security;
+
+import com.epam.engagement_system.service.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StompAuthenticationInterceptor unit tests")
+class StompAuthenticationInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private StompAuthenticationInterceptor interceptor;
+
+    @Test
+    @DisplayName("preSend should set the session user from the token claims on CONNECT")
+    void preSend_ConnectWithValidToken_ShouldSetUser() {
+        UserPrincipal principal = new UserPrincipal(7L, "+77001234567", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(jwtService.authenticate("token")).thenReturn(Optional.of(principal));
+
+        Principal user = userAfterPreSend(message(StompCommand.CONNECT, "Bearer token"));
+
+        assertNotNull(user);
+        assertEquals("+77001234567", user.getName());
+    }
+
+    @Test
+    @DisplayName("preSend should leave the session anonymous for an invalid or revoked token")
+    void preSend_ConnectWithInvalidToken_ShouldNotSetUser() {
+        when(jwtService.authenticate("token")).thenReturn(Optional.empty());
+
+        assertNull(userAfterPreSend(message(StompCommand.CONNECT, "Bearer token")));
+    }
+
+    @Test
+    @DisplayName("preSend should ignore frames other than CONNECT")
+    void preSend_OtherCommand_ShouldNotAuthenticate() {
+        assertNull(userAfterPreSend(message(StompCommand.SEND, "Bearer token")));
+        verify(jwtService, never()).authenticate(anyString());
+    }
+
+    private Principal userAfterPreSend(Message<byte[]> message) {
+        Message<?> result = interceptor.preSend(message, channel);
+        return MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class).getUser();
+    }
+
+    private static Message<byte[]> message(StompCommand command, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setNativeHeader("Authorization", authorization);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
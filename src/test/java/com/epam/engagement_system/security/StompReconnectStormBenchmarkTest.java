@@ -0,0 +1,145 @@
+package com.epam.engagement_system.security;
+
+import com.epam.engagement_system.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// Run with: mvn test -Pbenchmarks
+// Replays a reconnect storm (every user reconnecting a few times right after a deploy) through the STOMP CONNECT
+// authentication. The previous interceptor loaded the user for every CONNECT; it is replayed here against a stub
+// user lookup that sleeps for one database round trip and counts calls. StompAuthenticationInterceptor has no
+// database dependency at all, the benchmark shows what that buys.
+// Tune with -Dbenchmark.stomp.users, -Dbenchmark.stomp.reconnects and -Dbenchmark.stomp.db-latency-ms.
+@Tag("benchmark")
+@DisplayName("STOMP reconnect storm benchmark")
+class StompReconnectStormBenchmarkTest {
+    private static final int USERS = Integer.getInteger("benchmark.stomp.users", 2000);
+    private static final int RECONNECTS = Integer.getInteger("benchmark.stomp.reconnects", 5);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.stomp.db-latency-ms", 2);
+    private static final int DB_POOL_SIZE = 10;
+    private static final String SECRET = Base64.getEncoder().encodeToString("a-benchmark-secret-that-is-long-enough-for-hs256".getBytes());
+
+    @Test
+    @DisplayName("CONNECT authentication should not touch the database during a reconnect storm")
+    void connect_ReconnectStorm_ShouldReportThroughputAndDatabaseLookups() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 3_600_000, 100_000, new SimpleMeterRegistry(), new TokenRevocationList(true, 3_600_000));
+        List<String> tokens = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            UserPrincipal principal = new UserPrincipal(id, "+7700" + id, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            tokens.add(jwtService.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+        }
+
+        AtomicLong databaseLookups = new AtomicLong();
+        Semaphore connectionPool = new Semaphore(DB_POOL_SIZE);
+        UserDetailsService databaseUserLookup = phoneNumber -> {
+            connectionPool.acquireUninterruptibly();
+            try {
+                databaseLookups.incrementAndGet();
+                Thread.sleep(DB_LATENCY_MS);
+                return new UserPrincipal(1L, phoneNumber, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                connectionPool.release();
+            }
+        };
+
+        long legacyLookupsBefore = databaseLookups.get();
+        storm("per-connect user lookup", legacyInterceptor(jwtService, databaseUserLookup), tokens);
+        long legacyLookups = databaseLookups.get() - legacyLookupsBefore;
+
+        long claimsLookupsBefore = databaseLookups.get();
+        storm("claims only", new StompAuthenticationInterceptor(jwtService), tokens);
+        long claimsLookups = databaseLookups.get() - claimsLookupsBefore;
+
+        System.out.printf("  database lookups: per-connect %d, claims only %d%n", legacyLookups, claimsLookups);
+        assertEquals((long) USERS * RECONNECTS, legacyLookups);
+        assertEquals(0, claimsLookups);
+    }
+
+    private void storm(String name, ChannelInterceptor interceptor, List<String> tokens) throws Exception {
+        MessageChannel channel = mock(MessageChannel.class);
+        Queue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        List<Future<Boolean>> connects = new ArrayList<>(USERS * RECONNECTS);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int reconnect = 0; reconnect < RECONNECTS; reconnect++) {
+                for (String token : tokens) {
+                    connects.add(executor.submit(() -> {
+                        long connectStart = System.nanoTime();
+                        Message<?> message = interceptor.preSend(connectMessage(token), channel);
+                        latenciesMicros.add((System.nanoTime() - connectStart) / 1_000);
+                        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                        return accessor.getUser() != null;
+                    }));
+                }
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long authenticated = 0;
+        for (Future<Boolean> connect : connects) {
+            authenticated += connect.get() ? 1 : 0;
+        }
+        List<Long> sorted = latenciesMicros.stream().sorted().toList();
+        System.out.printf("STOMP reconnect storm (%s): %d CONNECTs from %d users, %d authenticated%n",
+                name, connects.size(), USERS, authenticated);
+        System.out.printf("  elapsed %d ms, throughput %.0f connects/s, latency p50 %d us, p99 %d us%n", elapsed.toMillis(),
+                connects.size() / (elapsed.toNanos() / 1_000_000_000.0),
+                sorted.get(sorted.size() / 2), sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+        assertEquals(connects.size(), authenticated);
+    }
+
+    private static Message<byte[]> connectMessage(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer " + token);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // The CONNECT handling as it was before claims-only authentication.
+    private static ChannelInterceptor legacyInterceptor(JwtService jwtService, UserDetailsService userDetailsService) {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                String jwt = accessor.getFirstNativeHeader("Authorization").substring(7);
+                jwtService.authenticate(jwt).ifPresent(principal -> {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(principal.getUsername());
+                    accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                });
+                return message;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.epam.engagement_system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenRevocationList unit tests")
+class TokenRevocationListTest {
+
+    private final TokenRevocationList tokenRevocationList = new TokenRevocationList(true, 60_000);
+
+    @Test
+    @DisplayName("isRevoked should reject tokens issued in an earlier second than the revocation")
+    void isRevoked_TokenIssuedBefore_ShouldReturnTrue() {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(1);
+
+        tokenRevocationList.revokeAll(7L);
+
+        assertTrue(tokenRevocationList.isRevoked(7L, issuedAt));
+        assertTrue(tokenRevocationList.isRevoked(7L, null));
+    }
+
+    @Test
+    @DisplayName("isRevoked should accept tokens issued within the second of the revocation")
+    void isRevoked_TokenIssuedSameSecond_ShouldReturnFalse() {
+        tokenRevocationList.revokeAll(7L);
+
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertFalse(tokenRevocationList.isRevoked(7L, issuedAt));
+        assertFalse(tokenRevocationList.isRevoked(8L, issuedAt.minusSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("isRevoked should accept every token when revocation is disabled")
+    void isRevoked_Disabled_ShouldReturnFalse() {
+        TokenRevocationList disabled = new TokenRevocationList(false, 60_000);
+
+        disabled.revokeAll(7L);
+
+        assertFalse(disabled.isRevoked(7L, Instant.now().minusSeconds(10)));
+    }
+}
@@ -5,28 +5,49 @@ import com.epam.engagement_system.domain.Appointment;
 import com.epam.engagement_system.domain.TimeSlot;
 import com.epam.engagement_system.domain.enums.AppointmentStatus;
 import com.epam.engagement_system.domain.enums.Gender;
+import com.epam.engagement_system.dto.CursorPage;
+import com.epam.engagement_system.dto.appointment.AppointmentAccess;
+import com.epam.engagement_system.dto.appointment.AppointmentCreationRequest;
+import com.epam.engagement_system.dto.appointment.AppointmentCreationResponse;
 import com.epam.engagement_system.dto.appointment.AppointmentInformationResponse;
+import com.epam.engagement_system.dto.appointment.AppointmentSummaryResponse;
+import com.epam.engagement_system.exception.InvalidCursorException;
 import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.exception.appointment.ExistingPendingAppointmentException;
 import com.epam.engagement_system.exception.appointment.IllegalAppointmentOperationException;
+import com.epam.engagement_system.exception.appointment.TimeSlotNotAvailableException;
 import com.epam.engagement_system.repository.AppointmentRepository;
+import com.epam.engagement_system.repository.UserRepository;
+import com.epam.engagement_system.service.cache.AppointmentAccessCache;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
+import com.epam.engagement_system.service.cache.TimeSlotAvailabilityCache;
+import com.epam.engagement_system.util.CursorUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,8 +58,25 @@ class AppointmentServiceTest {
     private AppointmentRepository appointmentRepository;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private FileStorageService fileStorageService;
+    @Mock
+    private DocumentProcessingService documentProcessingService;
+    @Mock
+    private SlotReservationService slotReservationService;
+    @Mock
+    private TimeSlotAvailabilityCache availabilityCache;
+    @Mock
+    private ReportDataVersions reportDataVersions;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private AppointmentAccessCache appointmentAccessCache;
+    @Mock
+    private AppointmentService self;
 
-    @InjectMocks
     private AppointmentService appointmentService;
 
     private ApplicationUser testUser;
@@ -47,6 +85,10 @@ class AppointmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        appointmentService = new AppointmentService(self, appointmentRepository, userRepository, notificationService,
+                fileStorageService, documentProcessingService, slotReservationService, availabilityCache, reportDataVersions,
+                appointmentAccessCache, entityManager);
+
         testUser = new ApplicationUser("+7702123123");
         testUser.setId(1L);
         testUser.setFirstName("Nurdos");
@@ -57,7 +99,6 @@ class AppointmentServiceTest {
         testTimeSlot.setId(1L);
         testTimeSlot.setStartTime(LocalDateTime.of(2025, 9, 25, 9, 0));
         testTimeSlot.setEndTime(LocalDateTime.of(2025, 9, 25, 9, 30));
-        testTimeSlot.setAvailable(true);
 
         testAppointment = new Appointment();
         testAppointment.setId(1L);
@@ -91,21 +132,59 @@ class AppointmentServiceTest {
         }
 
         @Test
-        @DisplayName("findByStatus should return appointments with speciifc status")
-        void findByStatus_ShouldReturnAppointments() {
-            when(appointmentRepository.findByStatusWithDetails(AppointmentStatus.PENDING)).thenReturn(List.of(testAppointment));
+        @DisplayName("findByStatus should return the first page with a cursor when more appointments exist")
+        void findByStatus_MoreThanOnePage_ShouldReturnCursor() {
+            AppointmentSummaryResponse first = createSummary(1L, Instant.parse("2025-09-01T10:00:00Z"));
+            AppointmentSummaryResponse second = createSummary(2L, Instant.parse("2025-09-01T11:00:00Z"));
+            when(appointmentRepository.findSummariesByStatus(AppointmentStatus.PENDING, Limit.of(2)))
+                    .thenReturn(List.of(first, second));
+
+            CursorPage<AppointmentSummaryResponse> page = appointmentService.findByStatus(AppointmentStatus.PENDING, null, 1);
+
+            assertEquals(List.of(first), page.items());
+            assertNotNull(page.nextCursor());
+            assertEquals(new CursorUtil.Position(first.createdAt(), first.id()), CursorUtil.decode(page.nextCursor()));
+        }
 
-            List<AppointmentInformationResponse> result = appointmentService.findByStatus(AppointmentStatus.PENDING);
-            assertFalse(result.isEmpty());
-            assertEquals(1, result.size());
-            assertEquals(AppointmentStatus.PENDING.name(), result.getFirst().status());
-            verify(appointmentRepository).findByStatusWithDetails(AppointmentStatus.PENDING);
+        @Test
+        @DisplayName("findByStatus should continue after the cursor position and end without a cursor")
+        void findByStatus_WithCursor_ShouldQueryAfterPosition() {
+            Instant createdAt = Instant.parse("2025-09-01T10:00:00Z");
+            AppointmentSummaryResponse next = createSummary(2L, Instant.parse("2025-09-01T11:00:00Z"));
+            when(appointmentRepository.findSummariesByStatusAfter(AppointmentStatus.PENDING, createdAt, 1L, Limit.of(51)))
+                    .thenReturn(List.of(next));
+
+            CursorPage<AppointmentSummaryResponse> page = appointmentService.findByStatus(
+                    AppointmentStatus.PENDING, CursorUtil.encode(createdAt, 1L), 50);
+
+            assertEquals(List.of(next), page.items());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("findByStatus should throw InvalidCursorException for a malformed cursor")
+        void findByStatus_MalformedCursor_ShouldThrowException() {
+            assertThrows(InvalidCursorException.class,
+                    () -> appointmentService.findByStatus(AppointmentStatus.PENDING, "not-a-cursor", 50));
+            verifyNoInteractions(appointmentRepository);
+        }
+
+        @Test
+        @DisplayName("findById should return appointment details with applicant history count")
+        void findById_ShouldReturnDetails() {
+            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentRepository.countByApplicantId(1L)).thenReturn(3L);
+
+            AppointmentInformationResponse result = appointmentService.findById(1L);
+
+            assertEquals(1L, result.id());
+            assertEquals(3, result.historyCount());
         }
 
         @Test
         @DisplayName("getAppointmentDocumentPath should return path of document")
         void getAppointmentDocumentPath_ShouldReturnPath() {
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentAccessCache.get(1L)).thenReturn(Optional.of(access(testAppointment)));
             String path = appointmentService.getAppointmentDocumentPath(1L);
             assertEquals("document.pdf", path);
         }
@@ -113,7 +192,7 @@ class AppointmentServiceTest {
         @Test
         @DisplayName("getAppointmentDocumentPath should throw exception if appointment does not exist")
         void getAppointmentDocumentPath_AppointmentNotFound_ShouldThrowException() {
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.empty());
+            when(appointmentAccessCache.get(1L)).thenReturn(Optional.empty());
             assertThrows(ResourceNotFoundException.class, () -> appointmentService.getAppointmentDocumentPath(1L));
         }
 
@@ -121,11 +200,101 @@ class AppointmentServiceTest {
         @DisplayName("getAppointmentDocumentPath should throw exception if file path is null")
         void getAppointmentDocumentPath_PathIsNull_ShouldThrowException() {
             testAppointment.setDocumentPath(null);
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentAccessCache.get(1L)).thenReturn(Optional.of(access(testAppointment)));
             assertThrows(ResourceNotFoundException.class, () -> appointmentService.getAppointmentDocumentPath(1L));
         }
     }
 
+    @Nested
+    @DisplayName("Creating appointments")
+    class CreateAppointmentTests {
+        private final MockMultipartFile document =
+                new MockMultipartFile("file", "document.pdf", "application/pdf", "pdf-content".getBytes());
+        private final AppointmentCreationRequest request = new AppointmentCreationRequest(
+                1L, "Aigerim", "Sarsen",
+                List.of(new AppointmentCreationRequest.WitnessInfo("Arman", "Ali", Gender.MALE),
+                        new AppointmentCreationRequest.WitnessInfo("Daulet", "Nur", Gender.MALE)),
+                null);
+        private final FileStorageService.StagedDocument staged = new FileStorageService.StagedDocument("staging-id_" + "a".repeat(64) + ".pdf",
+                "aa/aa/" + "a".repeat(64) + ".pdf", 11);
+
+        @Test
+        @DisplayName("createAppointment should stage the document before booking and promote it afterwards")
+        void createAppointment_AvailableSlot_ShouldStageBookAndPromote() {
+            AppointmentCreationResponse booked = new AppointmentCreationResponse(1L, AppointmentStatus.PENDING.name(), Instant.now());
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(fileStorageService.stageDocument(document)).thenReturn(staged);
+            when(self.bookAppointment(request, testUser, staged.documentPath())).thenReturn(booked);
+
+            AppointmentCreationResponse response = appointmentService.createAppointment(request, document, 1L);
+
+            assertEquals(booked, response);
+            InOrder inOrder = inOrder(fileStorageService, self);
+            inOrder.verify(fileStorageService).stageDocument(document);
+            inOrder.verify(self).bookAppointment(request, testUser, staged.documentPath());
+            inOrder.verify(fileStorageService).promoteDocument(staged);
+            verify(documentProcessingService).submit(1L, staged.documentPath());
+            verify(fileStorageService, never()).discardStagedDocument(any());
+        }
+
+        @Test
+        @DisplayName("createAppointment should discard the staged document when the time slot is taken")
+        void createAppointment_TakenSlot_ShouldDiscardStagedDocument() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(fileStorageService.stageDocument(document)).thenReturn(staged);
+            when(self.bookAppointment(request, testUser, staged.documentPath())).thenThrow(new TimeSlotNotAvailableException("taken"));
+
+            assertThrows(TimeSlotNotAvailableException.class,
+                    () -> appointmentService.createAppointment(request, document, 1L));
+            verify(fileStorageService).discardStagedDocument(staged);
+            verify(fileStorageService, never()).promoteDocument(any());
+            verifyNoInteractions(documentProcessingService);
+        }
+
+        @Test
+        @DisplayName("createAppointment should not stage anything for an applicant with an open appointment")
+        void createAppointment_ExistingAppointment_ShouldNotStage() {
+            when(appointmentRepository.existsByApplicantIdAndStatusIn(eq(1L), any())).thenReturn(true);
+
+            assertThrows(ExistingPendingAppointmentException.class,
+                    () -> appointmentService.createAppointment(request, document, 1L));
+            verifyNoInteractions(fileStorageService, self);
+        }
+
+        @Test
+        @DisplayName("bookAppointment should claim the time slot and save the appointment with the staged document")
+        void bookAppointment_AvailableSlot_ShouldClaimAndSave() {
+            when(slotReservationService.claim(1L)).thenReturn(testTimeSlot);
+
+            AppointmentCreationResponse response = appointmentService.bookAppointment(request, testUser, "stored.pdf");
+
+            assertEquals(AppointmentStatus.PENDING.name(), response.status());
+            InOrder inOrder = inOrder(slotReservationService, appointmentRepository);
+            inOrder.verify(slotReservationService).claim(1L);
+            inOrder.verify(appointmentRepository).lockDocumentPath("stored.pdf");
+            inOrder.verify(appointmentRepository).save(argThat(appointment -> "stored.pdf".equals(appointment.getDocumentPath())));
+            verify(availabilityCache).markBooked(testTimeSlot);
+            verifyNoInteractions(fileStorageService);
+        }
+    }
+
+    @Test
+    @DisplayName("sweepStagedDocuments should promote documents of booked appointments and discard the rest")
+    void sweepStagedDocuments_ShouldPromoteOrDiscard() {
+        FileStorageService.StagedDocument booked = new FileStorageService.StagedDocument("1_booked.pdf", "bo/ok/booked.pdf", 11);
+        FileStorageService.StagedDocument orphan = new FileStorageService.StagedDocument("2_orphan.pdf", "or/ph/orphan.pdf", 11);
+        FileStorageService.StagedDocument partial = new FileStorageService.StagedDocument("3.part", null, 4);
+        when(fileStorageService.findStaleStagedDocuments()).thenReturn(List.of(booked, orphan, partial));
+        when(appointmentRepository.existsByDocumentPath("bo/ok/booked.pdf")).thenReturn(true);
+        when(appointmentRepository.existsByDocumentPath("or/ph/orphan.pdf")).thenReturn(false);
+
+        appointmentService.sweepStagedDocuments();
+
+        verify(fileStorageService).promoteDocument(booked);
+        verify(fileStorageService).discardStagedDocument(orphan);
+        verify(fileStorageService).discardStagedDocument(partial);
+    }
+
     @Nested
     @DisplayName("actions on appointments")
     class ModifyAppointmentStatusTests {
@@ -133,13 +302,15 @@ class AppointmentServiceTest {
         @Test
         @DisplayName("cancelAppointment should succeed if PENDING status")
         void cancelAppointment_PendingStatus_ShouldSucceed() {
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testAppointment));
 
             appointmentService.cancelAppointment(1L);
 
             assertEquals(AppointmentStatus.CANCELLED, testAppointment.getStatus());
-            assertTrue(testTimeSlot.isAvailable());
+            verify(slotReservationService).release(testTimeSlot);
+            verify(availabilityCache).markReleased(testTimeSlot);
             verify(appointmentRepository).save(testAppointment);
+            verify(appointmentAccessCache).evict(1L);
             verify(notificationService).createAndSendNotification(any(), anyString());
         }
 
@@ -147,19 +318,19 @@ class AppointmentServiceTest {
         @DisplayName("cancelAppointment should succeed if APPROVED status")
         void cancelAppointment_ApprovedStatus_ShouldSucceed() {
             testAppointment.setStatus(AppointmentStatus.APPROVED);
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testAppointment));
 
             appointmentService.cancelAppointment(1L);
 
             assertEquals(AppointmentStatus.CANCELLED, testAppointment.getStatus());
-            assertTrue(testTimeSlot.isAvailable());
+            verify(slotReservationService).release(testTimeSlot);
         }
 
         @Test
         @DisplayName("cancelAppointment should throw IllegalAppointmentOperationException for COMPLETED status")
         void cancelAppointment_WrongStatus_ShouldThrowException() {
             testAppointment.setStatus(AppointmentStatus.COMPLETED);
-            when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+            when(appointmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testAppointment));
 
             assertThrows(IllegalAppointmentOperationException.class, () -> appointmentService.cancelAppointment(1L));
         }
@@ -195,7 +366,8 @@ class AppointmentServiceTest {
 
             assertEquals(AppointmentStatus.REJECTED, testAppointment.getStatus());
             assertEquals(reason, testAppointment.getRejectionReason());
-            assertTrue(testTimeSlot.isAvailable());
+            verify(slotReservationService).release(testTimeSlot);
+            verify(availabilityCache).markReleased(testTimeSlot);
             verify(appointmentRepository).save(testAppointment);
             verify(notificationService).createAndSendNotification(any(), anyString());
         }
@@ -236,21 +408,54 @@ class AppointmentServiceTest {
     class ReportGenerationTests {
 
         @Test
-        @DisplayName("getAppointmentsForReport should use default dates if input was null")
-        void getAppointmentsForReport_NullDates_ShouldUseDefaults() {
-            appointmentService.getAppointmentsForReport(null, null);
-            verify(appointmentRepository).findAllWithTimeSlotBetween(
+        @DisplayName("streamAppointmentsForReport should use default dates if input was null")
+        void streamAppointmentsForReport_NullDates_ShouldUseDefaults() {
+            when(appointmentRepository.streamAllWithTimeSlotBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(Stream.empty());
+
+            appointmentService.streamAppointmentsForReport(null, null, appointments -> {});
+
+            verify(appointmentRepository).streamAllWithTimeSlotBetween(
                     eq(LocalDate.of(2025, 9, 1).atStartOfDay()),
                     any(LocalDateTime.class)
             );
         }
 
         @Test
-        @DisplayName("getAppointmentsForReport should throw exception if startDate is after endDate")
-        void getAppointmentsForReport_StartDateAfterEndDate_ShouldThrowException() {
+        @DisplayName("streamAppointmentsForReport should throw exception if startDate is after endDate")
+        void streamAppointmentsForReport_StartDateAfterEndDate_ShouldThrowException() {
             LocalDate startDate = LocalDate.of(2025, 10, 1);
             LocalDate endDate = LocalDate.of(2025, 9, 1);
-            assertThrows(IllegalArgumentException.class, () -> appointmentService.getAppointmentsForReport(startDate, endDate));
+            assertThrows(IllegalArgumentException.class,
+                    () -> appointmentService.streamAppointmentsForReport(startDate, endDate, appointments -> {}));
+            verifyNoInteractions(appointmentRepository);
         }
+
+        @Test
+        @DisplayName("streamAppointmentsForReport should hand rows to the consumer, clear the persistence context periodically and close the stream")
+        void streamAppointmentsForReport_ShouldStreamAndClearPersistenceContext() {
+            AtomicBoolean closed = new AtomicBoolean();
+            Stream<Appointment> rows = Stream.generate(() -> testAppointment).limit(1200).onClose(() -> closed.set(true));
+            when(appointmentRepository.streamAllWithTimeSlotBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(rows);
+
+            AtomicLong consumed = new AtomicLong();
+            appointmentService.streamAppointmentsForReport(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30),
+                    appointments -> appointments.forEach(appointment -> consumed.incrementAndGet()));
+
+            assertEquals(1200, consumed.get());
+            verify(entityManager, times(2)).clear();
+            assertTrue(closed.get());
+        }
+    }
+
+    private AppointmentSummaryResponse createSummary(Long id, Instant createdAt) {
+        return new AppointmentSummaryResponse(id, AppointmentStatus.PENDING, testTimeSlot.getStartTime(),
+                testTimeSlot.getEndTime(), testUser.getPhoneNumber(), "Nurdos", "Ramazan", "br-f", "br-l", createdAt, null);
+    }
+
+    private AppointmentAccess access(Appointment appointment) {
+        return new AppointmentAccess(appointment.getId(), appointment.getApplicant().getId(), appointment.getStatus(),
+                appointment.getDocumentPath());
     }
 }
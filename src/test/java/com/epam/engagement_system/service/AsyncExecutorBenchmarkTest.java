@@ -0,0 +1,83 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.configuration.AsyncConfiguration;
+import com.epam.engagement_system.service.sms.LocalSmsGateway;
+import com.epam.engagement_system.util.ExecutorInstrumentation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with: mvn test -Pbenchmarks
+// Fires a burst of SMS sends at asyncExecutor the way sendMessageAsync does, once with the platform pool and once with
+// virtual threads, against the local SMS gateway guarded by the same SMS concurrency limit in both modes.
+// Tune with -Dbenchmark.async.messages, -Dbenchmark.async.latency-ms and -Dbenchmark.async.sms-concurrency.
+@Tag("benchmark")
+@DisplayName("Async executor benchmark")
+class AsyncExecutorBenchmarkTest {
+    private static final int MESSAGES = Integer.getInteger("benchmark.async.messages", 1000);
+    private static final long LATENCY_MS = Long.getLong("benchmark.async.latency-ms", 50);
+    private static final int SMS_CONCURRENCY = Integer.getInteger("benchmark.async.sms-concurrency", 10);
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    void sendMessageAsync_Burst_ShouldReportThroughputAndLatency(boolean virtualThreads) throws InterruptedException {
+        LocalSmsGateway gateway = new LocalSmsGateway(Duration.ofMillis(LATENCY_MS), Duration.ZERO, 0.0);
+        SmsService smsService = new SmsService(gateway, SMS_CONCURRENCY, Duration.ofMinutes(1));
+        AsyncConfiguration asyncConfiguration = new AsyncConfiguration();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExecutorInstrumentation instrumentation = asyncConfiguration.asyncExecutorInstrumentation(meterRegistry, virtualThreads, 0.8);
+        Executor executor = asyncConfiguration.asyncExecutor(virtualThreads, instrumentation);
+
+        Queue<Long> latenciesMillis = new ConcurrentLinkedQueue<>();
+        CountDownLatch finished = new CountDownLatch(MESSAGES);
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            long submittedAt = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    try {
+                        smsService.sendMessage("+7700" + submittedAt, "Your code for login: 123456");
+                        latenciesMillis.add((System.nanoTime() - submittedAt) / 1_000_000);
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rejected++;
+                finished.countDown();
+            }
+        }
+        assertTrue(finished.await(5, TimeUnit.MINUTES));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<Long> sorted = latenciesMillis.stream().sorted().toList();
+        long ranOnCaller = (long) meterRegistry.get("task.executor.rejected").counter().count();
+        System.out.printf("Async SMS burst on %s threads: %d submitted, %d sent, %d rejected, %d run by the caller, %d ms provider latency, %d SMS slots%n",
+                virtualThreads ? "virtual" : "platform", MESSAGES, gateway.getSentCount(), rejected, ranOnCaller, LATENCY_MS, SMS_CONCURRENCY);
+        System.out.printf("  elapsed %d ms, throughput %.1f msg/s, latency p50 %d ms, p99 %d ms%n", elapsed.toMillis(),
+                gateway.getSentCount() / (elapsed.toNanos() / 1_000_000_000.0), percentile(sorted, 0.50), percentile(sorted, 0.99));
+
+        assertTrue(gateway.getSentCount() + rejected == MESSAGES);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.max(0, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
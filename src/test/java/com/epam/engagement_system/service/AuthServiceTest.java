@@ -3,11 +3,15 @@ package com.epam.engagement_system.service;
 import com.epam.engagement_system.dto.auth.OTPVerificationRequest;
 import com.epam.engagement_system.dto.auth.OTPVerificationResponse;
 import com.epam.engagement_system.exception.auth.OTPNotFoundException;
+import com.epam.engagement_system.exception.auth.OTPRateLimitException;
+import com.epam.engagement_system.security.TokenRevocationList;
+import com.epam.engagement_system.service.otp.OtpStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,10 +20,7 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-import java.lang.reflect.Field;
-import java.time.Instant;
 import java.util.Collections;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,26 +36,22 @@ class AuthServiceTest {
     @Mock
     private UserDetailsService userDetailsService;
     @Mock
-    private TwilioSmsService twilioSmsService;
+    private SmsService smsService;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @Mock
+    private OtpStore otpStore;
 
     @InjectMocks
     private AuthService authService;
 
-    private Map<String, AuthService.OTPEntity> otpStore;
-
     private final String testPhoneNumber = "+7702123123";
     private final String testOtp = "555555";
     private UserDetails testUserDetails;
 
     @BeforeEach
-    @SuppressWarnings("unchecked")
-    void setUp() throws Exception {
+    void setUp() {
         testUserDetails = new User(testPhoneNumber, "", Collections.emptyList());
-
-        Field otpStoreField = AuthService.class.getDeclaredField("otpStore");
-        otpStoreField.setAccessible(true);
-        otpStore = (Map<String, AuthService.OTPEntity>) otpStoreField.get(authService);
-        otpStore.clear();
     }
 
     @Nested
@@ -63,13 +60,23 @@ class AuthServiceTest {
         @Test
         @DisplayName("requestOTP should generate OTP, store it, and send an SMS")
         void requestOTP_ShouldStoreAndSendSms() {
+            when(otpStore.issue(eq(testPhoneNumber), anyString())).thenReturn(true);
+
             authService.requestOTP(testPhoneNumber);
 
-            verify(twilioSmsService).sendMessageAsync(eq(testPhoneNumber), anyString());
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            verify(smsService).sendMessageAsync(eq(testPhoneNumber), messageCaptor.capture());
+            String otp = messageCaptor.getValue().substring(messageCaptor.getValue().length() - 6);
+            verify(otpStore).issue(testPhoneNumber, AuthService.hash(testPhoneNumber, otp));
+        }
+
+        @Test
+        @DisplayName("requestOTP should throw OTPRateLimitException and send nothing when the store refuses the code")
+        void requestOTP_RateLimited_ShouldThrowException() {
+            when(otpStore.issue(eq(testPhoneNumber), anyString())).thenReturn(false);
 
-            assertFalse(otpStore.isEmpty());
-            assertEquals(1, otpStore.size());
-            assertTrue(otpStore.containsKey(testPhoneNumber));
+            assertThrows(OTPRateLimitException.class, () -> authService.requestOTP(testPhoneNumber));
+            verify(smsService, never()).sendMessageAsync(anyString(), anyString());
         }
     }
 
@@ -77,18 +84,12 @@ class AuthServiceTest {
     @DisplayName("Verifying OTP and login")
     class VerifyOTPTests {
 
-        private OTPVerificationRequest verificationRequest;
-
-        @BeforeEach
-        void setupVerify() {
-            verificationRequest = new OTPVerificationRequest(testPhoneNumber, testOtp);
-            AuthService.OTPEntity otpEntity = new AuthService.OTPEntity(testOtp, Instant.now().plusSeconds(300));
-            otpStore.put(testPhoneNumber, otpEntity);
-        }
+        private final OTPVerificationRequest verificationRequest = new OTPVerificationRequest(testPhoneNumber, testOtp);
 
         @Test
         @DisplayName("verifyOtpAndLogin should return jwt with OTP")
         void verifyOtpAndLogin_ValidOtp_ShouldSucceed() {
+            when(otpStore.consume(testPhoneNumber, AuthService.hash(testPhoneNumber, testOtp))).thenReturn(true);
             when(userDetailsService.loadUserByUsername(testPhoneNumber)).thenReturn(testUserDetails);
             when(jwtService.generateJwtToken(any(Authentication.class))).thenReturn("test.jwt.token");
 
@@ -97,35 +98,32 @@ class AuthServiceTest {
             assertNotNull(response);
             assertEquals("test.jwt.token", response.accessToken());
             assertEquals("Bearer", response.tokenType());
-            assertTrue(otpStore.isEmpty());
             verify(jwtService).generateJwtToken(any(Authentication.class));
         }
 
         @Test
-        @DisplayName("verifyOtpAndLogin should throw OTPNotFoundException if invalid OTP")
+        @DisplayName("verifyOtpAndLogin should throw OTPNotFoundException if the store does not accept the code")
         void verifyOtpAndLogin_InvalidOtp_ShouldThrowException() {
-            OTPVerificationRequest badRequest = new OTPVerificationRequest(testPhoneNumber, "654321");
+            when(otpStore.consume(anyString(), anyString())).thenReturn(false);
 
-            assertThrows(OTPNotFoundException.class, () -> authService.verifyOtpAndLogin(badRequest));
-            assertFalse(otpStore.isEmpty());
+            assertThrows(OTPNotFoundException.class, () -> authService.verifyOtpAndLogin(verificationRequest));
+            verifyNoInteractions(userDetailsService, jwtService);
         }
 
         @Test
-        @DisplayName("verifyOtpAndLogin should throw OTPNotFoundException if a phone number does not exisst")
-        void verifyOtpAndLogin_NonExistentNumber_ShouldThrowException() {
-            OTPVerificationRequest badRequest = new OTPVerificationRequest("+0987654321", testOtp);
-
-            assertThrows(OTPNotFoundException.class, () -> authService.verifyOtpAndLogin(badRequest));
+        @DisplayName("hash should depend on both the phone number and the code")
+        void hash_ShouldBeSaltedWithPhoneNumber() {
+            assertNotEquals(AuthService.hash(testPhoneNumber, testOtp), AuthService.hash("+0987654321", testOtp));
+            assertNotEquals(AuthService.hash(testPhoneNumber, testOtp), AuthService.hash(testPhoneNumber, "654321"));
+            assertEquals(64, AuthService.hash(testPhoneNumber, testOtp).length());
         }
+    }
 
-        @Test
-        @DisplayName("verifyOtpAndLogin should throw OTPNotFoundException for expired OTP")
-        void verifyOtpAndLogin_ExpiredOtp_ShouldThrowException() {
-            AuthService.OTPEntity expiredOtpEntity = new AuthService.OTPEntity(testOtp, Instant.now().minusSeconds(1));
-            otpStore.put(testPhoneNumber, expiredOtpEntity);
+    @Test
+    @DisplayName("logout should revoke every token of the user")
+    void logout_ShouldRevokeTokens() {
+        authService.logout(42L);
 
-            assertThrows(OTPNotFoundException.class, () -> authService.verifyOtpAndLogin(verificationRequest));
-        }
+        verify(tokenRevocationList).revokeAll(42L);
     }
 }
-
@@ -0,0 +1,196 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.configuration.FileStorageConfiguration;
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.service.cache.DocumentPreviewCache;
+import com.epam.engagement_system.service.document.DocumentPreviewRenderer;
+import com.epam.engagement_system.service.document.DocumentType;
+import com.epam.engagement_system.service.document.ImagePreviewRenderer;
+import com.epam.engagement_system.service.document.PdfPreviewRenderer;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DocumentPreviewService unit tests")
+class DocumentPreviewServiceTest {
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private FileStorageService fileStorageService;
+    private DocumentPreviewService documentPreviewService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfiguration configuration = new FileStorageConfiguration();
+        configuration.setUploadDirectory(uploadDirectory.toString());
+        fileStorageService = new FileStorageService(configuration, Duration.ofHours(1));
+        documentPreviewService = new DocumentPreviewService(fileStorageService,
+                List.of(new ImagePreviewRenderer(), new PdfPreviewRenderer()),
+                new DocumentPreviewCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1)), 320, 0.7f);
+    }
+
+    @Test
+    @DisplayName("getPreview should render a small JPEG of an image and store it next to the document")
+    void getPreview_Image_ShouldRenderThumbnail() throws Exception {
+        String documentPath = store(DocumentType.PNG, png(1600, 1200));
+
+        BufferedImage preview = decode(documentPreviewService.getPreview(documentPath));
+
+        assertEquals(320, preview.getWidth());
+        assertEquals(240, preview.getHeight());
+        assertTrue(fileStorageService.findPreview(documentPath).isPresent());
+    }
+
+    @Test
+    @DisplayName("getPreview should serve a rendered preview from the cache")
+    void getPreview_SecondRequest_ShouldUseCache() throws Exception {
+        String documentPath = store(DocumentType.PNG, png(800, 600));
+        byte[] first = documentPreviewService.getPreview(documentPath);
+        fileStorageService.deleteDocument(documentPath);
+
+        assertSame(first, documentPreviewService.getPreview(documentPath));
+    }
+
+    @Test
+    @DisplayName("getPreview should show the scanned page of a PDF")
+    void getPreview_ScannedPdf_ShouldRenderPageImage() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(pdf)))) {
+            document.add(new Image(ImageDataFactory.create(png(1000, 1400))));
+        }
+        String documentPath = store(DocumentType.PDF, pdf.toByteArray());
+
+        BufferedImage preview = decode(documentPreviewService.getPreview(documentPath));
+
+        assertEquals(229, preview.getWidth());
+        assertEquals(320, preview.getHeight());
+    }
+
+    @Test
+    @DisplayName("getPreview should throw ResourceNotFoundException for a PDF without images")
+    void getPreview_TextPdf_ShouldThrow() {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(pdf)))) {
+            document.add(new Paragraph("Certificate"));
+        }
+        String documentPath = store(DocumentType.PDF, pdf.toByteArray());
+
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+        assertEquals(Optional.empty(), fileStorageService.findPreview(documentPath));
+    }
+
+    @Test
+    @DisplayName("getPreview should remember a document without a preview instead of parsing it again")
+    void getPreview_NoPreview_ShouldRenderOnce() throws Exception {
+        DocumentPreviewRenderer renderer = mock(DocumentPreviewRenderer.class);
+        when(renderer.supports(DocumentType.PDF)).thenReturn(true);
+        when(renderer.renderFirstPage(any(), anyInt())).thenReturn(Optional.empty());
+        documentPreviewService = new DocumentPreviewService(fileStorageService, List.of(renderer),
+                new DocumentPreviewCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1)), 320, 0.7f);
+        String documentPath = store(DocumentType.PDF, "%PDF-1.7".getBytes());
+
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+
+        verify(renderer, times(1)).renderFirstPage(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getPreview should try again after a failed render instead of remembering the failure")
+    void getPreview_RenderFails_ShouldNotCacheFailure() throws Exception {
+        DocumentPreviewRenderer renderer = mock(DocumentPreviewRenderer.class);
+        when(renderer.supports(DocumentType.PDF)).thenReturn(true);
+        when(renderer.renderFirstPage(any(), anyInt()))
+                .thenThrow(new IOException("Temporarily unreadable"))
+                .thenReturn(Optional.of(new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB)));
+        documentPreviewService = new DocumentPreviewService(fileStorageService, List.of(renderer),
+                new DocumentPreviewCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1)), 320, 0.7f);
+        String documentPath = store(DocumentType.PDF, "%PDF-1.7".getBytes());
+
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+
+        assertEquals(64, decode(documentPreviewService.getPreview(documentPath)).getWidth());
+    }
+
+    @Test
+    @DisplayName("preparePreview should replace a cached missing preview once it stores one")
+    void preparePreview_AfterMissingPreview_ShouldEvictMarker() throws Exception {
+        DocumentPreviewRenderer renderer = mock(DocumentPreviewRenderer.class);
+        when(renderer.supports(DocumentType.PDF)).thenReturn(true);
+        when(renderer.renderFirstPage(any(), anyInt()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB)));
+        documentPreviewService = new DocumentPreviewService(fileStorageService, List.of(renderer),
+                new DocumentPreviewCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1)), 320, 0.7f);
+        String documentPath = store(DocumentType.PDF, "%PDF-1.7".getBytes());
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+
+        documentPreviewService.preparePreview(documentPath);
+
+        assertTrue(fileStorageService.findPreview(documentPath).isPresent());
+        assertEquals(64, decode(documentPreviewService.getPreview(documentPath)).getWidth());
+    }
+
+    @Test
+    @DisplayName("evictPreview should drop the cached preview of a deleted document")
+    void evictPreview_DeletedDocument_ShouldNotServeCachedPreview() throws Exception {
+        String documentPath = store(DocumentType.PNG, png(800, 600));
+        documentPreviewService.getPreview(documentPath);
+        fileStorageService.deleteDocument(documentPath);
+
+        documentPreviewService.evictPreview(documentPath);
+
+        assertThrows(ResourceNotFoundException.class, () -> documentPreviewService.getPreview(documentPath));
+    }
+
+    @Test
+    @DisplayName("previewETag should differ from the document ETag and be absent for legacy documents")
+    void previewETag_ShouldDependOnDocumentDigest() {
+        String digest = "ab".repeat(32);
+
+        assertEquals("\"" + digest + "-preview\"", documentPreviewService.previewETag("ab/ab/" + digest + ".pdf"));
+        assertNull(documentPreviewService.previewETag("0b6f1b3e-1c4e-4d8a-9f55-6f2c8e1e2a10.pdf"));
+    }
+
+    private String store(DocumentType type, byte[] content) {
+        FileStorageService.StagedDocument staged = fileStorageService.stageDocument(type, out -> out.write(content));
+        fileStorageService.promoteDocument(staged);
+        return staged.documentPath();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] preview) throws IOException {
+        assertEquals(Optional.of(DocumentType.JPEG), DocumentType.sniff(preview));
+        return ImageIO.read(new ByteArrayInputStream(preview));
+    }
+}
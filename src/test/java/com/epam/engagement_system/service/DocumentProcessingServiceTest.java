@@ -0,0 +1,159 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.repository.AppointmentRepository;
+import com.epam.engagement_system.service.document.DocumentOptimizer;
+import com.epam.engagement_system.service.document.DocumentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.function.ThrowingConsumer;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DocumentProcessingService unit tests")
+class DocumentProcessingServiceTest {
+
+    private static final String ORIGINAL = "aa/aa/" + "a".repeat(64) + ".jpg";
+    private static final String OPTIMIZED = "bb/bb/" + "b".repeat(64) + ".jpg";
+
+    @Mock
+    private DocumentProcessingService self;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private FileStorageService fileStorageService;
+    @Mock
+    private DocumentPreviewService documentPreviewService;
+    @Mock
+    private DocumentOptimizer imageOptimizer;
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private MeterRegistry meterRegistry;
+    private DocumentProcessingService documentProcessingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        documentProcessingService = new DocumentProcessingService(self, appointmentRepository, fileStorageService,
+                documentPreviewService, List.of(imageOptimizer), meterRegistry, DataSize.ofBytes(100));
+
+        Path original = Files.write(uploadDirectory.resolve("original.jpg"), new byte[1000]);
+        lenient().when(imageOptimizer.supports(DocumentType.JPEG)).thenReturn(true);
+        lenient().when(fileStorageService.loadDocument(ORIGINAL)).thenReturn(original);
+    }
+
+    @Test
+    @DisplayName("process should point the appointment at the smaller copy and release the original")
+    void process_SmallerCopy_ShouldReplaceDocument() {
+        FileStorageService.StagedDocument optimized = stageOptimizedCopy(400);
+        when(self.replaceDocument(1L, ORIGINAL, OPTIMIZED)).thenReturn(true);
+
+        documentProcessingService.process(1L, ORIGINAL);
+
+        verify(fileStorageService).promoteDocument(optimized);
+        verify(self).deleteIfUnreferenced(ORIGINAL);
+        verify(documentPreviewService).preparePreview(OPTIMIZED);
+        assertEquals(1.0, meterRegistry.get("documents.optimization").tag("outcome", "optimized").counter().count());
+        assertEquals(400.0, meterRegistry.get("documents.size").tag("stage", "optimized").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("process should keep the original when another optimization already replaced it")
+    void process_Superseded_ShouldNotReleaseOriginal() {
+        stageOptimizedCopy(400);
+        when(self.replaceDocument(1L, ORIGINAL, OPTIMIZED)).thenReturn(false);
+
+        documentProcessingService.process(1L, ORIGINAL);
+
+        verify(self, never()).deleteIfUnreferenced(any());
+        assertEquals(1.0, meterRegistry.get("documents.optimization").tag("outcome", "superseded").counter().count());
+    }
+
+    @Test
+    @DisplayName("deleteIfUnreferenced should delete the document under its lock when no appointment references it")
+    void deleteIfUnreferenced_Unreferenced_ShouldDeleteUnderLock() {
+        when(appointmentRepository.existsByDocumentPath(ORIGINAL)).thenReturn(false);
+
+        documentProcessingService.deleteIfUnreferenced(ORIGINAL);
+
+        InOrder inOrder = inOrder(appointmentRepository, fileStorageService);
+        inOrder.verify(appointmentRepository).lockDocumentPath(ORIGINAL);
+        inOrder.verify(appointmentRepository).existsByDocumentPath(ORIGINAL);
+        inOrder.verify(fileStorageService).deleteDocument(ORIGINAL);
+        verify(documentPreviewService).evictPreview(ORIGINAL);
+    }
+
+    @Test
+    @DisplayName("deleteIfUnreferenced should keep the document when another appointment still references it")
+    void deleteIfUnreferenced_Shared_ShouldNotDelete() {
+        when(appointmentRepository.existsByDocumentPath(ORIGINAL)).thenReturn(true);
+
+        documentProcessingService.deleteIfUnreferenced(ORIGINAL);
+
+        verify(appointmentRepository).lockDocumentPath(ORIGINAL);
+        verify(fileStorageService, never()).deleteDocument(any());
+        verify(documentPreviewService, never()).evictPreview(any());
+    }
+
+    @Test
+    @DisplayName("process should discard a copy that is not smaller than the original")
+    void process_LargerCopy_ShouldKeepOriginal() {
+        FileStorageService.StagedDocument optimized = stageOptimizedCopy(1200);
+
+        documentProcessingService.process(1L, ORIGINAL);
+
+        verify(fileStorageService).discardStagedDocument(optimized);
+        verify(fileStorageService, never()).promoteDocument(any());
+        verifyNoInteractions(self);
+        verify(documentPreviewService).preparePreview(ORIGINAL);
+        assertEquals(1.0, meterRegistry.get("documents.optimization").tag("outcome", "kept").counter().count());
+    }
+
+    @Test
+    @DisplayName("process should skip documents below the minimum size")
+    void process_SmallDocument_ShouldSkip() {
+        documentProcessingService = new DocumentProcessingService(self, appointmentRepository, fileStorageService,
+                documentPreviewService, List.of(imageOptimizer), meterRegistry, DataSize.ofKilobytes(256));
+
+        documentProcessingService.process(1L, ORIGINAL);
+
+        verify(fileStorageService, never()).stageDocument(any(DocumentType.class), any());
+        assertEquals(1.0, meterRegistry.get("documents.optimization").tag("outcome", "small").counter().count());
+    }
+
+    @Test
+    @DisplayName("submit should keep the original document when the processing queue is full")
+    void submit_QueueFull_ShouldNotThrow() {
+        doThrow(new TaskRejectedException("full")).when(self).process(1L, ORIGINAL);
+
+        assertDoesNotThrow(() -> documentProcessingService.submit(1L, ORIGINAL));
+        assertEquals(1.0, meterRegistry.get("documents.optimization").tag("outcome", "rejected").counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private FileStorageService.StagedDocument stageOptimizedCopy(long size) {
+        FileStorageService.StagedDocument optimized = new FileStorageService.StagedDocument("staged_" + "b".repeat(64) + ".jpg",
+                OPTIMIZED, size);
+        when(fileStorageService.stageDocument(eq(DocumentType.JPEG), any(ThrowingConsumer.class))).thenReturn(optimized);
+        return optimized;
+    }
+}
@@ -0,0 +1,123 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.configuration.FileStorageConfiguration;
+import com.epam.engagement_system.exception.storage.StorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileStorageService unit tests")
+class FileStorageServiceTest {
+
+    private static final byte[] CERTIFICATE = "%PDF-1.7 certificate".getBytes();
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfiguration configuration = new FileStorageConfiguration();
+        configuration.setUploadDirectory(uploadDirectory.toString());
+        fileStorageService = new FileStorageService(configuration, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("stageDocument should address the document by the SHA-256 digest of its content")
+    void stageDocument_ShouldUseContentDigest() throws Exception {
+        byte[] content = CERTIFICATE;
+        String digest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        FileStorageService.StagedDocument staged = fileStorageService.stageDocument(pdf(content));
+
+        assertEquals(digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + ".pdf", staged.documentPath());
+        assertArrayEquals(content, Files.readAllBytes(uploadDirectory.resolve("staging").resolve(staged.stagedFile())));
+        assertFalse(Files.exists(uploadDirectory.resolve(staged.documentPath())));
+    }
+
+    @Test
+    @DisplayName("promoteDocument should keep a single copy of identical uploads")
+    void promoteDocument_DuplicateContent_ShouldDeduplicate() {
+        FileStorageService.StagedDocument first = fileStorageService.stageDocument(pdf(CERTIFICATE));
+        FileStorageService.StagedDocument second = fileStorageService.stageDocument(pdf(CERTIFICATE));
+
+        fileStorageService.promoteDocument(first);
+        fileStorageService.promoteDocument(second);
+
+        assertEquals(first.documentPath(), second.documentPath());
+        assertNotEquals(first.stagedFile(), second.stagedFile());
+        assertTrue(Files.exists(uploadDirectory.resolve(first.documentPath())));
+        assertTrue(fileStorageService.findStaleStagedDocuments().isEmpty());
+        assertFalse(Files.exists(uploadDirectory.resolve("staging").resolve(second.stagedFile())));
+    }
+
+    @Test
+    @DisplayName("stageDocument should reject file types other than JPG, PNG and PDF")
+    void stageDocument_InvalidType_ShouldThrow() {
+        MockMultipartFile file = new MockMultipartFile("file", "document.txt", "text/plain", "text".getBytes());
+
+        assertThrows(StorageException.class, () -> fileStorageService.stageDocument(file));
+    }
+
+    @Test
+    @DisplayName("stageDocument should take the type from the content and ignore the declared content type")
+    void stageDocument_DisguisedFile_ShouldUseSniffedType() {
+        MockMultipartFile script = new MockMultipartFile("file", "document.pdf", "application/pdf", "#!/bin/sh".getBytes());
+        MockMultipartFile png = new MockMultipartFile("file", "scan.pdf", "application/pdf",
+                new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0});
+
+        assertThrows(StorageException.class, () -> fileStorageService.stageDocument(script));
+        assertTrue(fileStorageService.stageDocument(png).documentPath().endsWith(".png"));
+    }
+
+    @Test
+    @DisplayName("deleteDocument should remove the promoted file and its preview")
+    void deleteDocument_ShouldRemoveFileAndPreview() {
+        FileStorageService.StagedDocument staged = fileStorageService.stageDocument(pdf(CERTIFICATE));
+        fileStorageService.promoteDocument(staged);
+        fileStorageService.storePreview(staged.documentPath(), out -> out.write(new byte[]{1}));
+        assertTrue(fileStorageService.findPreview(staged.documentPath()).isPresent());
+
+        fileStorageService.deleteDocument(staged.documentPath());
+
+        assertFalse(Files.exists(uploadDirectory.resolve(staged.documentPath())));
+        assertTrue(fileStorageService.findPreview(staged.documentPath()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findStaleStagedDocuments should return staged files older than the retention with their document path")
+    void findStaleStagedDocuments_ShouldRecoverDocumentPath() throws Exception {
+        FileStorageService.StagedDocument staged = fileStorageService.stageDocument(pdf(CERTIFICATE));
+        Files.setLastModifiedTime(uploadDirectory.resolve("staging").resolve(staged.stagedFile()),
+                FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        assertEquals(List.of(staged), fileStorageService.findStaleStagedDocuments());
+    }
+
+    @Test
+    @DisplayName("documentETag should return the digest for content-addressed documents only")
+    void documentETag_ShouldDependOnPathScheme() {
+        String digest = "ab".repeat(32);
+
+        assertEquals("\"" + digest + "\"", fileStorageService.documentETag("ab/ab/" + digest + ".pdf"));
+        assertNull(fileStorageService.documentETag("0b6f1b3e-1c4e-4d8a-9f55-6f2c8e1e2a10.pdf"));
+    }
+
+    private static MockMultipartFile pdf(byte[] content) {
+        return new MockMultipartFile("file", "certificate.pdf", "application/pdf", content);
+    }
+}
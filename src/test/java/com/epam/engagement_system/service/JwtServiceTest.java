@@ -0,0 +1,113 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.security.TokenRevocationList;
+import com.epam.engagement_system.security.UserPrincipal;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService unit tests")
+class JwtServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString("a-test-secret-that-is-long-enough-for-hs256".getBytes());
+
+    private MeterRegistry meterRegistry;
+    private TokenRevocationList tokenRevocationList;
+    private JwtService jwtService;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList(true, 60_000);
+        jwtService = new JwtService(SECRET, 60_000, 100, meterRegistry, tokenRevocationList);
+        token = jwtService.generateJwtToken(authentication(new UserPrincipal(7L, "+77001234567",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")))));
+    }
+
+    @Test
+    @DisplayName("authenticate should build the principal from the token claims")
+    void authenticate_ValidToken_ShouldReturnPrincipal() {
+        Optional<UserPrincipal> principal = jwtService.authenticate(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(7L, principal.get().getId());
+        assertEquals("+77001234567", principal.get().getUsername());
+        assertEquals(List.of("ROLE_USER"), principal.get().getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("authenticate should reuse the verified principal for a repeated token")
+    void authenticate_RepeatedToken_ShouldHitCache() {
+        UserPrincipal first = jwtService.authenticate(token).orElseThrow();
+        UserPrincipal second = jwtService.authenticate(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "jwt", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("authenticate should reject a token with a tampered signature")
+    void authenticate_TamperedToken_ShouldReturnEmpty() {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtService.authenticate(tampered).isEmpty());
+        assertTrue(jwtService.authenticate("not-a-jwt").isEmpty());
+    }
+
+    @Test
+    @DisplayName("authenticate should reject an expired token")
+    void authenticate_ExpiredToken_ShouldReturnEmpty() {
+        JwtService expiringService = new JwtService(SECRET, -1_000, 100, meterRegistry, tokenRevocationList);
+        String expired = expiringService.generateJwtToken(authentication(new UserPrincipal(7L, "+77001234567", List.of())));
+
+        assertTrue(expiringService.authenticate(expired).isEmpty());
+    }
+
+    @Test
+    @DisplayName("authenticate should reject a cached token once the user's tokens are revoked")
+    void authenticate_RevokedToken_ShouldReturnEmpty() {
+        String token = Jwts.builder()
+                .setSubject("+77001234567")
+                .claim("id", 7L)
+                .setIssuedAt(Date.from(Instant.now().minusSeconds(2)))
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        assertTrue(jwtService.authenticate(token).isPresent());
+
+        tokenRevocationList.revokeAll(7L);
+
+        assertTrue(jwtService.authenticate(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("authenticate should accept a token issued right after the user's tokens are revoked")
+    void authenticate_TokenIssuedAfterRevocation_ShouldReturnPrincipal() {
+        tokenRevocationList.revokeAll(7L);
+
+        String freshToken = jwtService.generateJwtToken(authentication(new UserPrincipal(7L, "+77001234567", List.of())));
+
+        assertTrue(jwtService.authenticate(freshToken).isPresent());
+    }
+
+    private UsernamePasswordAuthenticationToken authentication(UserPrincipal principal) {
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
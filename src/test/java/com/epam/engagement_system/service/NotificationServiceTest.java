@@ -2,19 +2,27 @@ package com.epam.engagement_system.service;
 
 import com.epam.engagement_system.domain.ApplicationUser;
 import com.epam.engagement_system.domain.Notification;
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.domain.enums.RoleType;
 import com.epam.engagement_system.dto.NotificationResponse;
 import com.epam.engagement_system.repository.NotificationRepository;
+import com.epam.engagement_system.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +40,9 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
-    @Mock
-    private TwilioSmsService twilioSmsService;
+    private OutboxService outboxService;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
     @Spy
     @InjectMocks
     private NotificationService notificationService;
@@ -82,29 +91,91 @@ class NotificationServiceTest {
             assertEquals(10L, savedNotification.getId());
             verify(notificationRepository).save(any(Notification.class));
         }
+    }
+
+    @Nested
+    @DisplayName("Admin notification digest and outbox delivery")
+    class AdminDigestTests {
+        @Mock
+        private NotificationService self;
+        @Mock
+        private UserRepository userRepository;
+        @Captor
+        private ArgumentCaptor<List<Notification>> notificationsCaptor;
+
+        private NotificationService digestService;
+
+        @BeforeEach
+        void setUp() {
+            digestService = new NotificationService(self, notificationRepository, userRepository,
+                    outboxService, objectMapper, Duration.ofMinutes(5), Duration.ofSeconds(5), "/admin/appointments?status=PENDING");
+        }
+
+        @Test
+        @DisplayName("createAndSendAdminNotifications should add the message to the outbox, due at the end of the digest window")
+        void createAndSendAdminNotifications_ShouldEnqueueForDigestWindow() {
+            Instant before = Instant.now();
+
+            digestService.createAndSendAdminNotifications("New application from +7701 arrived.");
+
+            ArgumentCaptor<Instant> dueAt = ArgumentCaptor.forClass(Instant.class);
+            verify(outboxService).enqueue(eq(OutboxChannel.ADMIN_DIGEST), eq("/topic/admin/new-appointments"),
+                    eq("New application from +7701 arrived."), startsWith("admin-message:"), dueAt.capture());
+            assertTrue(dueAt.getValue().isAfter(before));
+            assertFalse(dueAt.getValue().isAfter(before.plusSeconds(5)));
+            assertEquals(0, dueAt.getValue().toEpochMilli() % 5000);
+        }
 
         @Test
-        @DisplayName("sendUserNotificationAsync should send notificatons to websocket and SMS messages")
-        void sendUserNotificationAsync_ShouldSendWsAndSms() {
-            NotificationResponse response = new NotificationResponse(testNotification.getId(), testNotification.getMessage(), testNotification.isRead(), testNotification.getCreatedAt());
-            notificationService.sendUserNotificationAsync(response, testUser.getPhoneNumber());
-
-            verify(messagingTemplate).convertAndSendToUser(
-                    eq(testUser.getPhoneNumber()),
-                    eq("/queue/notifications"),
-                    eq(response)
-            );
-            verify(twilioSmsService).sendMessageAsync(testUser.getPhoneNumber(), testNotification.getMessage());
+        @DisplayName("deliverAdminDigest should summarize a burst for every admin and mark the messages sent")
+        void deliverAdminDigest_Burst_ShouldSendOneSummary() {
+            ApplicationUser firstAdmin = new ApplicationUser("+7700");
+            ApplicationUser secondAdmin = new ApplicationUser("+7701");
+            when(userRepository.findIdsByRoleName(RoleType.ADMIN)).thenReturn(List.of(1L, 2L));
+            when(userRepository.getReferenceById(1L)).thenReturn(firstAdmin);
+            when(userRepository.getReferenceById(2L)).thenReturn(secondAdmin);
+
+            digestService.deliverAdminDigest(List.of(adminMessage(31L, "New application from +7701 arrived."),
+                    adminMessage(32L, "New application from +7702 arrived.")));
+
+            String digest = "2 new notifications are waiting for review: /admin/appointments?status=PENDING";
+            verify(notificationRepository).saveAll(notificationsCaptor.capture());
+            List<Notification> saved = notificationsCaptor.getValue();
+            assertEquals(2, saved.size());
+            assertSame(firstAdmin, saved.get(0).getUser());
+            assertEquals(digest, saved.get(1).getMessage());
+            verify(notificationRepository, never()).save(any());
+            verify(outboxService).enqueue(OutboxChannel.TOPIC, "/topic/admin/new-appointments", digest, "admin-digest:31");
+            verify(outboxService).markSent(List.of(31L, 32L));
         }
 
         @Test
-        @DisplayName("sendAdminTopicNotificationAsync should send websocket message to admin's topic")
-        void sendAdminTopicNotificationAsync_ShouldSendToTopic() {
-            String message = "Admin topic message";
+        @DisplayName("deliverAdminDigest should pass a single message through and reuse cached admin ids")
+        void deliverAdminDigest_SingleMessage_ShouldKeepTextAndCacheAdminIds() {
+            when(userRepository.findIdsByRoleName(RoleType.ADMIN)).thenReturn(List.of(1L));
 
-            notificationService.sendAdminTopicNotificationAsync(message);
+            digestService.deliverAdminDigest(List.of(adminMessage(31L, "first")));
+            digestService.deliverAdminDigest(List.of(adminMessage(32L, "second")));
 
-            verify(messagingTemplate).convertAndSend("/topic/admin/new-appointments", message);
+            verify(userRepository, times(1)).findIdsByRoleName(RoleType.ADMIN);
+            verify(outboxService).enqueue(OutboxChannel.TOPIC, "/topic/admin/new-appointments", "first", "admin-digest:31");
+            verify(outboxService).enqueue(OutboxChannel.TOPIC, "/topic/admin/new-appointments", "second", "admin-digest:32");
+        }
+
+        @Test
+        @DisplayName("createAndSendNotification should add websocket and SMS deliveries to the outbox")
+        void createAndSendNotification_ShouldEnqueueDeliveries() throws Exception {
+            when(self.saveNotification(testUser, "Test message")).thenReturn(testNotification);
+
+            digestService.createAndSendNotification(testUser, "Test message");
+
+            ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+            verify(outboxService).enqueue(eq(OutboxChannel.USER_QUEUE), eq(testUser.getPhoneNumber()),
+                    payloadCaptor.capture(), eq("notification:10:websocket"));
+            verify(outboxService).enqueue(OutboxChannel.SMS, testUser.getPhoneNumber(), "Test message", "notification:10:sms");
+            NotificationResponse payload = objectMapper.readValue(payloadCaptor.getValue(), NotificationResponse.class);
+            assertEquals(10L, payload.id());
+            assertEquals("Test message", payload.message());
         }
     }
 
@@ -133,4 +204,10 @@ class NotificationServiceTest {
             verify(notificationRepository).findByUserIdAndIsReadFalse(anyLong());
         }
     }
+
+    private static OutboxMessage adminMessage(Long id, String payload) {
+        OutboxMessage message = new OutboxMessage(OutboxChannel.ADMIN_DIGEST, "/topic/admin/new-appointments", payload, "admin-message:" + id);
+        message.setId(id);
+        return message;
+    }
 }
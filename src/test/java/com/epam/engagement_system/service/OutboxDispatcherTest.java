@@ -0,0 +1,187 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.dto.NotificationResponse;
+import com.epam.engagement_system.util.ExecutorInstrumentation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxDispatcher unit tests")
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private SmsService smsService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private ExecutorInstrumentation asyncExecutorInstrumentation;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MeterRegistry meterRegistry;
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxDispatcher = new OutboxDispatcher(outboxService, notificationService, smsService, messagingTemplate, objectMapper, Runnable::run,
+                asyncExecutorInstrumentation, meterRegistry, 2, 3, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("dispatch should deliver each channel and mark the batch as sent")
+    void dispatch_ShouldDeliverAllChannels() throws Exception {
+        NotificationResponse notification = new NotificationResponse(10L, "Approved", false, Instant.now());
+        OutboxMessage sms = message(1L, OutboxChannel.SMS, "+77001234567", "Approved");
+        OutboxMessage userQueue = message(2L, OutboxChannel.USER_QUEUE, "+77001234567", objectMapper.writeValueAsString(notification));
+        OutboxMessage topic = message(3L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "digest");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(sms, userQueue)).thenReturn(List.of(topic));
+
+        outboxDispatcher.dispatch();
+
+        verify(smsService).sendMessage("+77001234567", "Approved");
+        verify(messagingTemplate).convertAndSendToUser("+77001234567", "/queue/notifications", notification);
+        verify(messagingTemplate).convertAndSend("/topic/admin/new-appointments", "digest");
+        verify(outboxService, times(2)).claimDueMessages(2);
+        verify(outboxService, never()).markFailed(any(), any());
+        assertEquals(1, meterRegistry.get("notifications.delivery").tags("channel", "sms", "outcome", "sent").timer().count());
+        assertEquals(1, meterRegistry.get("notifications.delivery").tags("channel", "user_queue", "outcome", "sent").timer().count());
+        assertEquals(1, meterRegistry.get("notifications.delivery").tags("channel", "topic", "outcome", "sent").timer().count());
+    }
+
+    @Test
+    @DisplayName("dispatch should stop polling once a batch is not full")
+    void dispatch_EmptyOutbox_ShouldClaimOnce() {
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of());
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxService, times(1)).claimDueMessages(anyInt());
+        verify(outboxService, never()).markSent(any());
+        verifyNoInteractions(smsService, messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("dispatch should leave the rest of a backlog to the next poll after the batch limit")
+    void dispatch_Backlog_ShouldStopAfterMaxBatches() {
+        when(outboxService.claimDueMessages(2)).thenAnswer(invocation -> List.of(
+                message(1L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "first"),
+                message(2L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "second")));
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxService, times(3)).claimDueMessages(2);
+        verify(outboxService, times(3)).markSent(any());
+    }
+
+    @Test
+    @DisplayName("dispatch should mark failed deliveries for retry and the rest as sent")
+    @SuppressWarnings("unchecked")
+    void dispatch_DeliveryFails_ShouldMarkFailed() {
+        OutboxMessage failing = message(1L, OutboxChannel.SMS, "+77001234567", "Approved");
+        OutboxMessage delivered = message(2L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "digest");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(failing, delivered)).thenReturn(List.of());
+        doThrow(new IllegalStateException("Gateway timeout")).when(smsService).sendMessage(any(), any());
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxService).markFailed(1L, "Gateway timeout");
+        assertEquals(1, meterRegistry.get("notifications.delivery").tags("channel", "sms", "outcome", "failed").timer().count());
+        ArgumentCaptor<Collection<Long>> sentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxService).markSent(sentCaptor.capture());
+        assertEquals(List.of(2L), List.copyOf(sentCaptor.getValue()));
+    }
+
+    @Test
+    @DisplayName("dispatch should defer SMS and keep delivering other channels while SMS sending is saturated")
+    void dispatch_SmsSaturated_ShouldDeferSms() {
+        OutboxMessage sms = message(1L, OutboxChannel.SMS, "+77001234567", "Approved");
+        OutboxMessage topic = message(2L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "digest");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(sms, topic)).thenReturn(List.of());
+        when(smsService.isSaturated()).thenReturn(true);
+
+        outboxDispatcher.dispatch();
+
+        verify(smsService, never()).sendMessage(any(), any());
+        verify(messagingTemplate).convertAndSend("/topic/admin/new-appointments", "digest");
+        verify(outboxService).defer(List.of(1L), Duration.ofSeconds(30));
+        assertEquals(1.0, meterRegistry.get("notifications.degraded").gauge().value());
+        assertEquals(1.0, meterRegistry.get("notifications.deferred").counter().count());
+    }
+
+    @Test
+    @DisplayName("dispatch should defer SMS while the async executor that sends login codes is saturated")
+    void dispatch_AsyncExecutorSaturated_ShouldDeferSms() {
+        OutboxMessage sms = message(1L, OutboxChannel.SMS, "+77001234567", "Approved");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(sms));
+        when(asyncExecutorInstrumentation.isSaturated()).thenReturn(true);
+
+        outboxDispatcher.dispatch();
+
+        verify(smsService, never()).sendMessage(any(), any());
+        verify(outboxService).defer(List.of(1L), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("dispatch should hand admin messages to the digest as one group and send the rest")
+    @SuppressWarnings("unchecked")
+    void dispatch_AdminMessages_ShouldBeDeliveredAsDigest() {
+        OutboxMessage first = message(1L, OutboxChannel.ADMIN_DIGEST, "/topic/admin/new-appointments", "first");
+        OutboxMessage second = message(2L, OutboxChannel.ADMIN_DIGEST, "/topic/admin/new-appointments", "second");
+        OutboxMessage topic = message(3L, OutboxChannel.TOPIC, "/topic/admin/new-appointments", "digest");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(first, second)).thenReturn(List.of(topic));
+
+        outboxDispatcher.dispatch();
+
+        verify(notificationService).deliverAdminDigest(List.of(first, second));
+        verify(messagingTemplate, times(1)).convertAndSend("/topic/admin/new-appointments", "digest");
+        ArgumentCaptor<Collection<Long>> sentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxService, times(2)).markSent(sentCaptor.capture());
+        assertEquals(List.of(3L), List.copyOf(sentCaptor.getAllValues().get(1)));
+        assertEquals(1, meterRegistry.get("notifications.delivery").tags("channel", "admin_digest", "outcome", "sent").timer().count());
+    }
+
+    @Test
+    @DisplayName("dispatch should mark admin messages for retry when the digest fails")
+    void dispatch_AdminDigestFails_ShouldMarkFailed() {
+        OutboxMessage first = message(1L, OutboxChannel.ADMIN_DIGEST, "/topic/admin/new-appointments", "first");
+        when(outboxService.claimDueMessages(2)).thenReturn(List.of(first));
+        doThrow(new IllegalStateException("Database unavailable")).when(notificationService).deliverAdminDigest(any());
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxService).markFailed(1L, "Database unavailable");
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    private OutboxMessage message(Long id, OutboxChannel channel, String destination, String payload) {
+        OutboxMessage message = new OutboxMessage(channel, destination, payload, channel + ":" + id);
+        message.setId(id);
+        return message;
+    }
+}
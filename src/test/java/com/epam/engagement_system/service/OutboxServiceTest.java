@@ -0,0 +1,137 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.domain.enums.OutboxStatus;
+import com.epam.engagement_system.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxService unit tests")
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private OutboxService outboxService;
+    private OutboxMessage message;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxMessageRepository, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Duration.ofSeconds(30), 3, Duration.ofDays(7));
+        message = new OutboxMessage(OutboxChannel.SMS, "+77001234567", "Hello", "notification:1:sms");
+        message.setId(1L);
+    }
+
+    @Nested
+    @DisplayName("Enqueueing and claiming")
+    class ClaimTests {
+        @Test
+        @DisplayName("enqueue should store a pending message due immediately")
+        void enqueue_ShouldSavePendingMessage() {
+            outboxService.enqueue(OutboxChannel.TOPIC, "/topic/admin/new-appointments", "digest", "admin-digest:1");
+
+            ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+            verify(outboxMessageRepository).save(captor.capture());
+            OutboxMessage saved = captor.getValue();
+            assertEquals(OutboxStatus.PENDING, saved.getStatus());
+            assertEquals("admin-digest:1", saved.getIdempotencyKey());
+            assertFalse(saved.getNextAttemptAt().isAfter(Instant.now()));
+        }
+
+        @Test
+        @DisplayName("claimDueMessages should count the attempt and lease the messages")
+        void claimDueMessages_ShouldLeaseMessages() {
+            when(outboxMessageRepository.lockDueMessages(any(Instant.class), eq(50))).thenReturn(List.of(message));
+
+            List<OutboxMessage> claimed = outboxService.claimDueMessages(50);
+
+            assertEquals(List.of(message), claimed);
+            assertEquals(1, message.getAttempts());
+            assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plusSeconds(50)));
+        }
+
+        @Test
+        @DisplayName("markSent should skip the update when nothing was delivered")
+        void markSent_Empty_ShouldDoNothing() {
+            outboxService.markSent(List.of());
+
+            verify(outboxMessageRepository, never()).markSent(anyCollection(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failed deliveries")
+    class FailureTests {
+        @Test
+        @DisplayName("markFailed should schedule a retry with exponential backoff")
+        void markFailed_ShouldBackOff() {
+            message.setAttempts(2);
+            when(outboxMessageRepository.findById(1L)).thenReturn(Optional.of(message));
+
+            outboxService.markFailed(1L, "Gateway timeout");
+
+            assertEquals(OutboxStatus.PENDING, message.getStatus());
+            assertEquals("Gateway timeout", message.getLastError());
+            Instant expected = Instant.now().plusSeconds(10);
+            assertTrue(Duration.between(expected, message.getNextAttemptAt()).abs().toSeconds() <= 1);
+        }
+
+        @Test
+        @DisplayName("markFailed should cap the backoff at the configured maximum")
+        void markFailed_ShouldCapBackoff() {
+            OutboxService patientService = new OutboxService(outboxMessageRepository, Duration.ofMinutes(1),
+                    Duration.ofSeconds(5), Duration.ofSeconds(30), 100, Duration.ofDays(7));
+            message.setAttempts(10);
+            when(outboxMessageRepository.findById(1L)).thenReturn(Optional.of(message));
+
+            patientService.markFailed(1L, "Gateway timeout");
+
+            assertTrue(message.getNextAttemptAt().isBefore(Instant.now().plusSeconds(31)));
+        }
+
+        @Test
+        @DisplayName("markFailed should give up once the attempts are exhausted")
+        void markFailed_AttemptsExhausted_ShouldFail() {
+            message.setAttempts(3);
+            when(outboxMessageRepository.findById(1L)).thenReturn(Optional.of(message));
+
+            outboxService.markFailed(1L, "x".repeat(600));
+
+            assertEquals(OutboxStatus.FAILED, message.getStatus());
+            assertEquals(500, message.getLastError().length());
+        }
+    }
+
+    @Test
+    @DisplayName("purgeSentMessages should delete messages delivered before the retention window")
+    void purgeSentMessages_ShouldDeleteOldMessages() {
+        when(outboxMessageRepository.deleteSentBefore(any(Instant.class))).thenReturn(3);
+
+        outboxService.purgeSentMessages();
+
+        ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxMessageRepository).deleteSentBefore(captor.capture());
+        assertTrue(captor.getValue().isBefore(Instant.now().minus(Duration.ofDays(6))));
+        verify(outboxMessageRepository, never()).lockDueMessages(any(), anyInt());
+    }
+}
@@ -0,0 +1,245 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.ReportJob;
+import com.epam.engagement_system.domain.enums.ReportJobStatus;
+import com.epam.engagement_system.dto.report.ReportJobResponse;
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.exception.report.ReportQueueFullException;
+import com.epam.engagement_system.repository.ReportJobRepository;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.function.ThrowingConsumer;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportJobService unit tests")
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportJobService self;
+    @Mock
+    private ReportJobRepository reportJobRepository;
+    @Mock
+    private ReportService reportService;
+    @Mock
+    private AppointmentService appointmentService;
+    @Mock
+    private FileStorageService fileStorageService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private ReportDataVersions reportDataVersions;
+
+    private ReportJobService reportJobService;
+
+    private final LocalDate startDate = LocalDate.of(2025, 9, 1);
+    private final LocalDate endDate = LocalDate.of(2025, 9, 30);
+    private final String fileName = "appointments-report_2025-09-01_to_2025-09-30.pdf";
+    private ReportJob testJob;
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobService(self, reportJobRepository, reportService, appointmentService,
+                fileStorageService, messagingTemplate, reportDataVersions, Duration.ofHours(24), Duration.ofMinutes(2));
+
+        testJob = new ReportJob("pdf", startDate, endDate, fileName, "application/pdf");
+        testJob.setId(7L);
+    }
+
+    @Nested
+    @DisplayName("Submitting report jobs")
+    class SubmitTests {
+        @BeforeEach
+        void describeReport() {
+            when(reportService.describeReport("PDF", startDate, endDate))
+                    .thenReturn(new ReportService.ReportDescription(fileName, "application/pdf"));
+            when(reportDataVersions.versionOf(startDate, endDate)).thenReturn(42L);
+        }
+
+        @Test
+        @DisplayName("submit should queue a new job and hand it to the report workers")
+        void submit_NoReusableJob_ShouldQueueJob() {
+            when(reportJobRepository.findReusable(eq("pdf"), eq(startDate), eq(endDate), eq(42L), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+            when(reportJobRepository.save(any(ReportJob.class))).thenReturn(testJob);
+
+            ReportJobResponse response = reportJobService.submit("PDF", startDate, endDate);
+
+            assertEquals(7L, response.id());
+            assertEquals(ReportJobStatus.QUEUED, response.status());
+            verify(self).render(7L);
+            verify(messagingTemplate).convertAndSend("/topic/admin/reports", response);
+        }
+
+        @Test
+        @DisplayName("submit should return an existing job for the same period without queueing a new one")
+        void submit_ReusableJob_ShouldReturnExistingJob() {
+            testJob.setStatus(ReportJobStatus.COMPLETED);
+            when(reportJobRepository.findReusable(eq("pdf"), eq(startDate), eq(endDate), eq(42L), any(Instant.class)))
+                    .thenReturn(Optional.of(testJob));
+
+            ReportJobResponse response = reportJobService.submit("PDF", startDate, endDate);
+
+            assertEquals(7L, response.id());
+            assertEquals(100, response.progressPercent());
+            verify(reportJobRepository, never()).save(any());
+            verifyNoInteractions(self);
+        }
+
+        @Test
+        @DisplayName("submit should fail the job and throw ReportQueueFullException when workers are saturated")
+        void submit_QueueFull_ShouldThrowException() {
+            when(reportJobRepository.findReusable(eq("pdf"), eq(startDate), eq(endDate), eq(42L), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+            when(reportJobRepository.save(any(ReportJob.class))).thenReturn(testJob);
+            doThrow(new TaskRejectedException("full")).when(self).render(7L);
+
+            assertThrows(ReportQueueFullException.class, () -> reportJobService.submit("PDF", startDate, endDate));
+            assertEquals(ReportJobStatus.FAILED, testJob.getStatus());
+        }
+
+        @Test
+        @DisplayName("submit should return the concurrently inserted job when its own insert loses the race")
+        void submit_ConcurrentDuplicate_ShouldReuseWinner() {
+            when(reportJobRepository.findReusable(eq("pdf"), eq(startDate), eq(endDate), eq(42L), any(Instant.class)))
+                    .thenReturn(Optional.empty(), Optional.of(testJob));
+            when(reportJobRepository.save(any(ReportJob.class))).thenThrow(new DataIntegrityViolationException("uq_report_jobs_active"));
+
+            ReportJobResponse response = reportJobService.submit("PDF", startDate, endDate);
+
+            assertEquals(7L, response.id());
+            verifyNoInteractions(self);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rendering report jobs")
+    class RenderTests {
+        @BeforeEach
+        void loadJob() {
+            when(reportJobRepository.findById(7L)).thenReturn(Optional.of(testJob));
+            when(reportJobRepository.save(testJob)).thenReturn(testJob);
+            when(appointmentService.countAppointmentsForReport(startDate, endDate)).thenReturn(2000L);
+        }
+
+        @Test
+        @DisplayName("render should store the report and mark the job completed with a retention deadline")
+        @SuppressWarnings("unchecked")
+        void render_Success_ShouldCompleteJob() {
+            when(reportService.generateReport(eq("pdf"), eq(startDate), eq(endDate), any(LongConsumer.class)))
+                    .thenAnswer(invocation -> {
+                        LongConsumer progress = invocation.getArgument(3);
+                        return new ReportService.Report(fileName, out -> {
+                            for (long row = 1; row <= 2000; row++) {
+                                progress.accept(row);
+                            }
+                        }, "application/pdf");
+                    });
+            when(fileStorageService.storeReport(eq("7-" + fileName), any())).thenAnswer(invocation -> {
+                ThrowingConsumer<OutputStream> content = invocation.getArgument(1);
+                content.accept(OutputStream.nullOutputStream());
+                return 1024L;
+            });
+
+            reportJobService.render(7L);
+
+            assertEquals(ReportJobStatus.COMPLETED, testJob.getStatus());
+            assertEquals(2000L, testJob.getProcessedRows());
+            assertEquals(1024L, testJob.getFileSize());
+            assertEquals("7-" + fileName, testJob.getStoredFile());
+            assertTrue(testJob.getExpiresAt().isAfter(Instant.now().plus(Duration.ofHours(23))));
+            // Running, two progress updates and completion.
+            verify(messagingTemplate, times(4)).convertAndSend(eq("/topic/admin/reports"), any(ReportJobResponse.class));
+        }
+
+        @Test
+        @DisplayName("render should mark the job failed when the report cannot be stored")
+        void render_StorageFailure_ShouldFailJob() {
+            when(reportService.generateReport(eq("pdf"), eq(startDate), eq(endDate), any(LongConsumer.class)))
+                    .thenReturn(new ReportService.Report(fileName, out -> {}, "application/pdf"));
+            when(fileStorageService.storeReport(anyString(), any())).thenThrow(new RuntimeException("disk full"));
+
+            reportJobService.render(7L);
+
+            assertEquals(ReportJobStatus.FAILED, testJob.getStatus());
+            assertNull(testJob.getStoredFile());
+            assertNotNull(testJob.getExpiresAt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading and cleaning up report jobs")
+    class ResultTests {
+        @Test
+        @DisplayName("heartbeat should keep this node's jobs alive and fail stale ones with a retention deadline")
+        @SuppressWarnings("unchecked")
+        void heartbeat_ShouldTouchLocalJobsAndFailStaleJobs() {
+            when(reportService.describeReport("PDF", startDate, endDate))
+                    .thenReturn(new ReportService.ReportDescription(fileName, "application/pdf"));
+            when(reportJobRepository.findReusable(eq("pdf"), eq(startDate), eq(endDate), anyLong(), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+            when(reportJobRepository.save(any(ReportJob.class))).thenReturn(testJob);
+            reportJobService.submit("PDF", startDate, endDate);
+
+            reportJobService.heartbeat();
+
+            ArgumentCaptor<Collection<Long>> touched = ArgumentCaptor.forClass(Collection.class);
+            verify(reportJobRepository).touchHeartbeats(touched.capture(), any(Instant.class));
+            assertEquals(List.of(7L), List.copyOf(touched.getValue()));
+            ArgumentCaptor<Instant> staleBefore = ArgumentCaptor.forClass(Instant.class);
+            ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+            verify(reportJobRepository).failStale(staleBefore.capture(), any(Instant.class), expiresAt.capture(), anyString());
+            assertTrue(staleBefore.getValue().isBefore(Instant.now().minus(Duration.ofMinutes(1))));
+            assertTrue(expiresAt.getValue().isAfter(Instant.now().plus(Duration.ofHours(23))));
+        }
+
+        @Test
+        @DisplayName("getReportFile should throw ResourceNotFoundException while the job is still running")
+        void getReportFile_JobNotCompleted_ShouldThrowException() {
+            testJob.setStatus(ReportJobStatus.RUNNING);
+            when(reportJobRepository.findById(7L)).thenReturn(Optional.of(testJob));
+
+            assertThrows(ResourceNotFoundException.class, () -> reportJobService.getReportFile(7L));
+            verifyNoInteractions(fileStorageService);
+        }
+
+        @Test
+        @DisplayName("deleteExpiredReports should remove stored files and job rows")
+        void deleteExpiredReports_ShouldDeleteFilesAndJobs() {
+            testJob.setStoredFile("7-" + fileName);
+            ReportJob failedJob = new ReportJob("excel", startDate, endDate, "report.xlsx", "application/vnd.ms-excel");
+            when(reportJobRepository.findByExpiresAtBefore(any(Instant.class))).thenReturn(List.of(testJob, failedJob));
+
+            reportJobService.deleteExpiredReports();
+
+            verify(fileStorageService).deleteReport("7-" + fileName);
+            verifyNoMoreInteractions(fileStorageService);
+            verify(reportJobRepository).deleteAllInBatch(List.of(testJob, failedJob));
+        }
+    }
+}
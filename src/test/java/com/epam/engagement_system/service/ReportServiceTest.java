@@ -1,7 +1,12 @@
 package com.epam.engagement_system.service;
 
 import com.epam.engagement_system.domain.Appointment;
+import com.epam.engagement_system.exception.report.InvalidReportRequestException;
+import com.epam.engagement_system.service.cache.ReportCache;
+import com.epam.engagement_system.service.cache.ReportDataVersions;
 import com.epam.engagement_system.service.report.ReportGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,13 +15,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.util.unit.DataSize;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,11 +44,17 @@ class ReportServiceTest {
     @Mock
     private AppointmentService appointmentService;
 
+    @Mock
+    private ReportDataVersions reportDataVersions;
+
     private ReportService reportService;
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        reportService = new ReportService(pdfGenerator, excelGenerator, appointmentService);
+        meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(meterRegistry, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+        reportService = new ReportService(pdfGenerator, excelGenerator, appointmentService, reportCache, reportDataVersions);
     }
 
     @Nested
@@ -46,51 +62,103 @@ class ReportServiceTest {
     class GenerateReportTests {
         private final LocalDate startDate = LocalDate.of(2025, 9, 1);
         private final LocalDate endDate = LocalDate.of(2025, 9, 30);
-        private final List<Appointment> mockAppointments = Collections.emptyList();
+
+        @BeforeEach
+        void streamAppointments() {
+            lenient().doAnswer(invocation -> {
+                Consumer<Stream<Appointment>> consumer = invocation.getArgument(2);
+                consumer.accept(Stream.empty());
+                return null;
+            }).when(appointmentService).streamAppointmentsForReport(eq(startDate), eq(endDate), any());
+        }
 
         @Test
         @DisplayName("should use pdf generator for the pdf format")
-        void generateReport_PdfFormat_ShouldUsePdfGenerator() {
+        void generateReport_PdfFormat_ShouldUsePdfGenerator() throws IOException {
             String format = "pdf";
-            ByteArrayInputStream pdfStream = new ByteArrayInputStream("pdf-content".getBytes());
-            when(pdfGenerator.generate(mockAppointments, startDate, endDate)).thenReturn(pdfStream);
             when(pdfGenerator.getFilenameExtension()).thenReturn(".pdf");
             when(pdfGenerator.getContentType()).thenReturn("application/pdf");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
 
             ReportService.Report report = reportService.generateReport(format, startDate, endDate);
+            report.body().writeTo(out);
 
             assertNotNull(report);
             assertEquals("application/pdf", report.contentType());
             assertTrue(report.fileName().endsWith(".pdf"));
-            verify(pdfGenerator).generate(mockAppointments, startDate, endDate);
-            verify(excelGenerator, never()).generate(any(), any(), any());
+            verify(pdfGenerator).generate(any(), eq(startDate), eq(endDate), any(OutputStream.class));
+            verify(excelGenerator, never()).generate(any(), any(), any(), any());
         }
 
         @Test
         @DisplayName("should use excel generator for excel format")
-        void generateReport_ExcelFormat_ShouldUseExcelGenerator() {
+        void generateReport_ExcelFormat_ShouldUseExcelGenerator() throws IOException {
             String format = "excel";
-            ByteArrayInputStream excelStream = new ByteArrayInputStream("excel-content".getBytes());
-            when(excelGenerator.generate(mockAppointments, startDate, endDate)).thenReturn(excelStream);
             when(excelGenerator.getFilenameExtension()).thenReturn(".xlsx");
             when(excelGenerator.getContentType()).thenReturn("application/vnd.ms-excel");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
 
             ReportService.Report report = reportService.generateReport(format, startDate, endDate);
+            report.body().writeTo(out);
 
             assertNotNull(report);
             assertEquals("application/vnd.ms-excel", report.contentType());
             assertTrue(report.fileName().endsWith(".xlsx"));
-            verify(excelGenerator).generate(mockAppointments, startDate, endDate);
-            verify(pdfGenerator, never()).generate(any(), any(), any());
+            verify(excelGenerator).generate(any(), eq(startDate), eq(endDate), any(OutputStream.class));
+            verify(pdfGenerator, never()).generate(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should not query appointments until the report body is written")
+        void generateReport_ShouldDeferQueryUntilWritten() {
+            when(pdfGenerator.getFilenameExtension()).thenReturn(".pdf");
+
+            reportService.generateReport("pdf", startDate, endDate);
+
+            verifyNoInteractions(appointmentService);
+        }
+
+        @Test
+        @DisplayName("should serve an unchanged report from cache and regenerate it after a change in the period")
+        void generateReport_RepeatedRequest_ShouldUseCacheUntilDataChanges() throws IOException {
+            when(pdfGenerator.getFilenameExtension()).thenReturn(".pdf");
+            when(pdfGenerator.getContentType()).thenReturn("application/pdf");
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(3);
+                out.write("pdf-content".getBytes());
+                return null;
+            }).when(pdfGenerator).generate(any(), eq(startDate), eq(endDate), any());
+            when(reportDataVersions.versionOf(startDate, endDate)).thenReturn(1L, 1L, 2L);
+
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            reportService.generateReport("pdf", startDate, endDate).body().writeTo(first);
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            reportService.generateReport("PDF", startDate, endDate).body().writeTo(second);
+
+            assertEquals("pdf-content", second.toString());
+            verify(pdfGenerator, times(1)).generate(any(), any(), any(), any());
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "reports").tag("result", "hit").functionCounter().count());
+
+            reportService.generateReport("pdf", startDate, endDate).body().writeTo(new ByteArrayOutputStream());
+
+            verify(pdfGenerator, times(2)).generate(any(), any(), any(), any());
         }
 
         @Test
-        @DisplayName("should throw IllegalArgumentException for unknown format")
+        @DisplayName("should throw InvalidReportRequestException for unknown format")
         void generateReport_UnknownFormat_ShouldThrowException() {
             String format = "csv";
 
-            assertThrows(IllegalArgumentException.class,
+            assertThrows(InvalidReportRequestException.class,
                     () -> reportService.generateReport(format, startDate, endDate));
         }
+
+        @Test
+        @DisplayName("should reject a period that ends before it starts before any body is built")
+        void generateReport_StartDateAfterEndDate_ShouldThrowException() {
+            assertThrows(InvalidReportRequestException.class,
+                    () -> reportService.generateReport("pdf", endDate, startDate));
+            verifyNoInteractions(appointmentService);
+        }
     }
 }
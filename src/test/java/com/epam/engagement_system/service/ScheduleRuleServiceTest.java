@@ -0,0 +1,128 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+import com.epam.engagement_system.dto.admin.ScheduleRuleRequest;
+import com.epam.engagement_system.exception.ResourceNotFoundException;
+import com.epam.engagement_system.exception.schedule.InvalidScheduleRuleException;
+import com.epam.engagement_system.repository.ScheduleRuleRepository;
+import com.epam.engagement_system.service.schedule.ScheduleRuleFixtures;
+import com.epam.engagement_system.service.schedule.ScheduleTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScheduleRuleService unit tests")
+class ScheduleRuleServiceTest {
+
+    @Mock
+    private ScheduleRuleRepository scheduleRuleRepository;
+    @Mock
+    private TimeSlotService timeSlotService;
+
+    @InjectMocks
+    private ScheduleRuleService scheduleRuleService;
+
+    @Nested
+    @DisplayName("Creating rules")
+    class CreateRuleTests {
+        @Test
+        @DisplayName("createRule should recompile the template and regenerate only the closed date")
+        @SuppressWarnings("unchecked")
+        void createRule_ClosedDate_ShouldRegenerateThatDate() {
+            LocalDate holiday = LocalDate.now().plusDays(10);
+            List<ScheduleRule> rules = new ArrayList<>(ScheduleRuleFixtures.defaultRules());
+            when(scheduleRuleRepository.save(any(ScheduleRule.class))).thenAnswer(invocation -> {
+                rules.add(invocation.getArgument(0));
+                return invocation.getArgument(0);
+            });
+            when(scheduleRuleRepository.findAll()).thenReturn(rules);
+            when(timeSlotService.findLastGeneratedDay()).thenReturn(Optional.of(LocalDate.now().plusMonths(2)));
+
+            scheduleRuleService.createRule(new ScheduleRuleRequest(ScheduleRuleType.CLOSED, null, holiday,
+                    LocalTime.of(9, 0), null, null, null, "Holiday"));
+
+            ArgumentCaptor<ScheduleTemplate> templateCaptor = ArgumentCaptor.forClass(ScheduleTemplate.class);
+            ArgumentCaptor<List<LocalDate>> daysCaptor = ArgumentCaptor.forClass(List.class);
+            verify(timeSlotService).regenerateDays(daysCaptor.capture(), templateCaptor.capture());
+            assertEquals(0, templateCaptor.getValue().forDate(holiday).size());
+            assertEquals(List.of(holiday), daysCaptor.getValue());
+            assertNull(rules.getLast().getStartTime());
+        }
+
+        @Test
+        @DisplayName("createRule should regenerate every generated day of the weekday")
+        @SuppressWarnings("unchecked")
+        void createRule_Weekday_ShouldRegenerateMatchingDays() {
+            LocalDate lastGeneratedDay = LocalDate.now().plusWeeks(3);
+            when(scheduleRuleRepository.findAll()).thenReturn(ScheduleRuleFixtures.defaultRules());
+            when(timeSlotService.findLastGeneratedDay()).thenReturn(Optional.of(lastGeneratedDay));
+
+            scheduleRuleService.createRule(new ScheduleRuleRequest(ScheduleRuleType.BREAK, DayOfWeek.MONDAY, null,
+                    LocalTime.of(16, 0), LocalTime.of(18, 0), null, null, "Staff meeting"));
+
+            ArgumentCaptor<List<LocalDate>> daysCaptor = ArgumentCaptor.forClass(List.class);
+            verify(timeSlotService).regenerateDays(daysCaptor.capture(), any());
+            List<LocalDate> days = daysCaptor.getValue();
+            assertEquals(LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)), days.getFirst());
+            assertTrue(days.stream().allMatch(day -> day.getDayOfWeek() == DayOfWeek.MONDAY && !day.isAfter(lastGeneratedDay)));
+            assertTrue(days.size() >= 3);
+        }
+
+        @Test
+        @DisplayName("createRule should reject a rule for both a weekday and a date")
+        void createRule_WeekdayAndDate_ShouldThrow() {
+            ScheduleRuleRequest request = new ScheduleRuleRequest(ScheduleRuleType.CLOSED, DayOfWeek.MONDAY,
+                    LocalDate.now(), null, null, null, null, null);
+
+            assertThrows(InvalidScheduleRuleException.class, () -> scheduleRuleService.createRule(request));
+            verifyNoInteractions(scheduleRuleRepository, timeSlotService);
+        }
+
+        @Test
+        @DisplayName("createRule should reject opening hours that cannot fit a slot")
+        void createRule_OpeningHoursTooShort_ShouldThrow() {
+            ScheduleRuleRequest request = new ScheduleRuleRequest(ScheduleRuleType.OPENING_HOURS, DayOfWeek.SATURDAY,
+                    null, LocalTime.of(9, 0), LocalTime.of(9, 20), 30, null, null);
+
+            assertThrows(InvalidScheduleRuleException.class, () -> scheduleRuleService.createRule(request));
+        }
+
+        @Test
+        @DisplayName("createRule should reject opening hours without a seat per slot")
+        void createRule_ZeroCapacity_ShouldThrow() {
+            ScheduleRuleRequest request = new ScheduleRuleRequest(ScheduleRuleType.OPENING_HOURS, DayOfWeek.SATURDAY,
+                    null, LocalTime.of(9, 0), LocalTime.of(12, 0), 30, 0, null);
+
+            assertThrows(InvalidScheduleRuleException.class, () -> scheduleRuleService.createRule(request));
+            verifyNoInteractions(scheduleRuleRepository, timeSlotService);
+        }
+    }
+
+    @Test
+    @DisplayName("deleteRule should throw ResourceNotFoundException for an unknown rule")
+    void deleteRule_NotFound_ShouldThrow() {
+        when(scheduleRuleRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> scheduleRuleService.deleteRule(1L));
+        verifyNoInteractions(timeSlotService);
+    }
+}
@@ -0,0 +1,70 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.exception.appointment.TimeSlotNotAvailableException;
+import com.epam.engagement_system.repository.TimeSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlotReservationService unit tests")
+class SlotReservationServiceTest {
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @InjectMocks
+    private SlotReservationService slotReservationService;
+
+    private TimeSlot testTimeSlot;
+
+    @BeforeEach
+    void setUp() {
+        testTimeSlot = new TimeSlot();
+        testTimeSlot.setId(1L);
+        testTimeSlot.setStartTime(LocalDateTime.of(2025, 9, 26, 9, 0));
+        testTimeSlot.setEndTime(LocalDateTime.of(2025, 9, 26, 9, 30));
+        testTimeSlot.setCapacity(3);
+    }
+
+    @Test
+    @DisplayName("claim should return the slot when the conditional update succeeds")
+    void claim_AvailableSlot_ShouldReturnSlot() {
+        when(timeSlotRepository.claimSeat(1L)).thenReturn(1);
+        when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(testTimeSlot));
+
+        TimeSlot claimed = slotReservationService.claim(1L);
+
+        assertEquals(1L, claimed.getId());
+    }
+
+    @Test
+    @DisplayName("claim should throw TimeSlotNotAvailableException without loading the slot when it is taken")
+    void claim_TakenSlot_ShouldThrowException() {
+        when(timeSlotRepository.claimSeat(1L)).thenReturn(0);
+
+        assertThrows(TimeSlotNotAvailableException.class, () -> slotReservationService.claim(1L));
+        verify(timeSlotRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("release should free one seat of the slot")
+    void release_ShouldDecrementBookedCount() {
+        when(timeSlotRepository.releaseSeat(1L)).thenReturn(1);
+
+        slotReservationService.release(testTimeSlot);
+
+        verify(timeSlotRepository).releaseSeat(1L);
+    }
+}
@@ -0,0 +1,142 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.domain.OutboxMessage;
+import com.epam.engagement_system.domain.enums.OutboxChannel;
+import com.epam.engagement_system.service.sms.LocalSmsGateway;
+import com.epam.engagement_system.util.ExecutorInstrumentation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+// Run with: mvn test -Pbenchmarks
+// Drives the real OutboxDispatcher and SmsService against the local SMS gateway. The outbox itself is kept in memory,
+// so the numbers show how fast the dispatcher turns queued SMS into provider calls, not database throughput.
+// Tune with -Dbenchmark.sms.messages, -Dbenchmark.sms.workers, -Dbenchmark.sms.latency-ms and -Dbenchmark.sms.failure-rate.
+@Tag("benchmark")
+@DisplayName("SMS dispatch benchmark")
+class SmsDispatchBenchmarkTest {
+    private static final int MESSAGES = Integer.getInteger("benchmark.sms.messages", 2000);
+    private static final int WORKERS = Integer.getInteger("benchmark.sms.workers", 4);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.sms.batch-size", 50);
+    private static final long LATENCY_MS = Long.getLong("benchmark.sms.latency-ms", 20);
+    private static final double FAILURE_RATE = Double.parseDouble(System.getProperty("benchmark.sms.failure-rate", "0.01"));
+
+    @Test
+    @DisplayName("dispatcher should deliver every queued SMS and report throughput and p99 latency")
+    void dispatch_SustainedLoad_ShouldDeliverAllMessages() {
+        LocalSmsGateway gateway = new LocalSmsGateway(Duration.ofMillis(LATENCY_MS), Duration.ofMillis(LATENCY_MS / 2), FAILURE_RATE);
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        ThreadPoolTaskExecutor executor = outboxExecutor();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExecutorInstrumentation idleAsyncExecutor = new ExecutorInstrumentation("asyncExecutor", 0, 0.8, meterRegistry);
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outbox.service, mock(NotificationService.class), new SmsService(gateway, WORKERS, Duration.ofMinutes(1)),
+                mock(SimpMessagingTemplate.class), new ObjectMapper(), executor, idleAsyncExecutor, meterRegistry,
+                BATCH_SIZE, Integer.MAX_VALUE, Duration.ZERO);
+
+        for (long id = 1; id <= MESSAGES; id++) {
+            outbox.enqueue(id);
+        }
+        long start = System.nanoTime();
+        while (outbox.deliveredCount() < MESSAGES) {
+            dispatcher.dispatch();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        executor.shutdown();
+
+        double throughput = MESSAGES / (elapsed.toNanos() / 1_000_000_000.0);
+        System.out.printf("SMS dispatch: %d messages, %d workers, %d ms provider latency, %.1f%% failures%n",
+                MESSAGES, WORKERS, LATENCY_MS, FAILURE_RATE * 100);
+        System.out.printf("  elapsed %d ms, throughput %.1f msg/s, retries %d%n", elapsed.toMillis(), throughput, gateway.getFailedCount());
+        System.out.printf("  queue-to-delivery latency p50 %d ms, p99 %d ms, max %d ms%n",
+                outbox.percentile(0.50), outbox.percentile(0.99), outbox.percentile(1.0));
+
+        assertEquals(MESSAGES, gateway.getSentCount());
+    }
+
+    private static ThreadPoolTaskExecutor outboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(WORKERS);
+        executor.setMaxPoolSize(WORKERS);
+        executor.setQueueCapacity(WORKERS * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Failed and deferred messages go straight back to the queue so the benchmark measures retries without waiting for backoff.
+    private static final class InMemoryOutbox {
+        private final OutboxService service = mock(OutboxService.class);
+        private final Queue<OutboxMessage> pending = new ConcurrentLinkedQueue<>();
+        private final Map<Long, OutboxMessage> byId = new ConcurrentHashMap<>();
+        private final Map<Long, Long> enqueuedAt = new ConcurrentHashMap<>();
+        private final Queue<Long> latenciesMillis = new ConcurrentLinkedQueue<>();
+        private final AtomicLong delivered = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        private InMemoryOutbox() {
+            when(service.claimDueMessages(anyInt())).thenAnswer(invocation -> {
+                int batchSize = invocation.getArgument(0);
+                List<OutboxMessage> batch = new ArrayList<>(batchSize);
+                OutboxMessage message;
+                while (batch.size() < batchSize && (message = pending.poll()) != null) {
+                    batch.add(message);
+                }
+                return batch;
+            });
+            doAnswer(invocation -> {
+                long now = System.nanoTime();
+                for (Long id : (Collection<Long>) invocation.getArgument(0)) {
+                    latenciesMillis.add((now - enqueuedAt.get(id)) / 1_000_000);
+                    delivered.incrementAndGet();
+                }
+                return null;
+            }).when(service).markSent(any());
+            doAnswer(invocation -> {
+                pending.add(byId.get(invocation.<Long>getArgument(0)));
+                return null;
+            }).when(service).markFailed(any(), any());
+            doAnswer(invocation -> {
+                ((Collection<Long>) invocation.getArgument(0)).forEach(id -> pending.add(byId.get(id)));
+                return null;
+            }).when(service).defer(any(), any());
+        }
+
+        private void enqueue(long id) {
+            OutboxMessage message = new OutboxMessage(OutboxChannel.SMS, "+7700" + id, "Your appointment was approved.", "benchmark:" + id);
+            message.setId(id);
+            byId.put(id, message);
+            enqueuedAt.put(id, System.nanoTime());
+            pending.add(message);
+        }
+
+        private long deliveredCount() {
+            return delivered.get();
+        }
+
+        private long percentile(double percentile) {
+            List<Long> sorted = latenciesMillis.stream().sorted().toList();
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.epam.engagement_system.service;
+
+import com.epam.engagement_system.service.sms.SmsGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SmsService unit tests")
+class SmsServiceTest {
+
+    @Mock
+    private SmsGateway smsGateway;
+
+    @Test
+    @DisplayName("sendMessage should pass the message to the gateway")
+    void sendMessage_ShouldUseGateway() {
+        SmsService smsService = new SmsService(smsGateway, 1, Duration.ofSeconds(1));
+
+        smsService.sendMessage("+77001234567", "Hello");
+
+        verify(smsGateway).send("+77001234567", "Hello");
+    }
+
+    @Test
+    @DisplayName("sendMessage should release the slot when the gateway fails")
+    void sendMessage_GatewayFails_ShouldReleaseSlot() {
+        SmsService smsService = new SmsService(smsGateway, 1, Duration.ZERO);
+        doThrow(new IllegalStateException("Gateway timeout")).doNothing().when(smsGateway).send(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> smsService.sendMessage("+77001234567", "Hello"));
+        smsService.sendMessage("+77001234567", "Hello");
+
+        verify(smsGateway, times(2)).send("+77001234567", "Hello");
+    }
+
+    @Test
+    @DisplayName("sendMessage should fail fast when every SMS slot stays busy")
+    void sendMessage_Saturated_ShouldThrow() throws InterruptedException {
+        SmsService smsService = new SmsService(smsGateway, 1, Duration.ofMillis(50));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(smsGateway).send(eq("+77001111111"), any());
+
+        Thread blocking = Thread.ofVirtual().start(() -> smsService.sendMessage("+77001111111", "Hello"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> smsService.sendMessage("+77002222222", "Hello"));
+        assertTrue(exception.getMessage().contains("saturated"));
+        release.countDown();
+        blocking.join();
+        verify(smsGateway, never()).send(eq("+77002222222"), any());
+    }
+}
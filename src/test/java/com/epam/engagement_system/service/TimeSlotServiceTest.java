@@ -1,7 +1,12 @@
 package com.epam.engagement_system.service;
 
-import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.repository.ScheduleRuleRepository;
+import com.epam.engagement_system.repository.SlotBatch;
 import com.epam.engagement_system.repository.TimeSlotRepository;
+import com.epam.engagement_system.service.cache.TimeSlotAvailabilityCache;
+import com.epam.engagement_system.service.schedule.ScheduleTemplate;
+import com.epam.engagement_system.service.schedule.ScheduleRuleFixtures;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,9 +16,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.YearMonth;
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,61 +33,124 @@ class TimeSlotServiceTest {
     @Mock
     private TimeSlotRepository timeSlotRepository;
 
+    @Mock
+    private TimeSlotAvailabilityCache availabilityCache;
+
+    @Mock
+    private ScheduleRuleRepository scheduleRuleRepository;
+
     @InjectMocks
     private TimeSlotService timeSlotService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(scheduleRuleRepository.findAll()).thenReturn(ScheduleRuleFixtures.defaultRules());
+    }
+
     @Nested
     @DisplayName("Generate time slots")
     class GenerateSlotsTests {
 
         @Test
         @DisplayName("should throw IllegalArgumentException for a past month request")
-        void generateSlotsForMonth_PastMonth_ShouldThrowException() {
+        void generateSlotsForMonths_PastMonth_ShouldThrowException() {
             YearMonth pastMonth = YearMonth.now().minusMonths(1);
             assertThrows(IllegalArgumentException.class,
-                    () -> timeSlotService.generateSlotsForMonth(pastMonth.getYear(), pastMonth.getMonthValue()));
+                    () -> timeSlotService.generateSlotsForMonths(pastMonth.getYear(), pastMonth.getMonthValue(), 1));
         }
 
         @Test
-        @DisplayName("should generate new slots for a future month")
-        void generateSlotsForMonth_FutureMonth_ShouldGenerateSlots() {
+        @DisplayName("should throw IllegalArgumentException when too many months are requested")
+        void generateSlotsForMonths_TooManyMonths_ShouldThrowException() {
             YearMonth futureMonth = YearMonth.now().plusMonths(1);
+            assertThrows(IllegalArgumentException.class,
+                    () -> timeSlotService.generateSlotsForMonths(futureMonth.getYear(), futureMonth.getMonthValue(), 25));
+            verifyNoInteractions(timeSlotRepository);
+        }
 
-            when(timeSlotRepository.findExistingStartTimes(any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(Collections.emptySet());
+        @Test
+        @DisplayName("should generate new slots for a future month")
+            void generateSlotsForMonths_FutureMonth_ShouldGenerateSlots() {
+            YearMonth futureMonth = YearMonth.now().plusMonths(1);
+            when(timeSlotRepository.insertMissing(any())).thenAnswer(invocation -> ((SlotBatch) invocation.getArgument(0)).size());
 
-            String message = timeSlotService.generateSlotsForMonth(futureMonth.getYear(), futureMonth.getMonthValue());
+            String message = timeSlotService.generateSlotsForMonths(futureMonth.getYear(), futureMonth.getMonthValue(), 1);
 
-            ArgumentCaptor<List<TimeSlot>> captor = ArgumentCaptor.forClass(List.class);
-            verify(timeSlotRepository).saveAll(captor.capture());
+            ArgumentCaptor<SlotBatch> captor = ArgumentCaptor.forClass(SlotBatch.class);
+            verify(timeSlotRepository).insertMissing(captor.capture());
 
-            List<TimeSlot> savedSlots = captor.getValue();
+            SlotBatch savedSlots = captor.getValue();
             assertFalse(savedSlots.isEmpty());
-            LocalDateTime firstSlotStart = futureMonth.atDay(1).atTime(9, 0);
-            if (!savedSlots.isEmpty()) {
-                assertEquals(firstSlotStart, savedSlots.getFirst().getStartTime());
+            assertEquals(futureMonth.atDay(1).atTime(9, 0), savedSlots.startTime(0));
+            for (int i = 0; i < savedSlots.size(); i++) {
+                assertNotEquals(LocalTime.of(12, 30), savedSlots.startTime(i).toLocalTime());
             }
-            assertTrue(message.contains("Successfully generated"));
-            assertFalse(message.contains("0 new time slots"));
+            assertTrue(message.contains("Successfully generated " + savedSlots.size() + " new time slots"));
+            assertTrue(message.contains("rows/s"));
+            verify(availabilityCache).invalidate(futureMonth);
+        }
+
+        @Test
+        @DisplayName("should generate every month of a range in one insert")
+            void generateSlotsForMonths_Range_ShouldCoverEveryMonth() {
+            YearMonth firstMonth = YearMonth.now().plusMonths(1);
+            when(timeSlotRepository.insertMissing(any())).thenAnswer(invocation -> ((SlotBatch) invocation.getArgument(0)).size());
+
+            timeSlotService.generateSlotsForMonths(firstMonth.getYear(), firstMonth.getMonthValue(), 3);
+
+            ArgumentCaptor<SlotBatch> captor = ArgumentCaptor.forClass(SlotBatch.class);
+            verify(timeSlotRepository, times(1)).insertMissing(captor.capture());
+            LocalDateTime lastStart = captor.getValue().startTime(captor.getValue().size() - 1);
+            assertEquals(firstMonth.plusMonths(2), YearMonth.from(lastStart));
+            verify(availabilityCache).invalidate(firstMonth);
+            verify(availabilityCache).invalidate(firstMonth.plusMonths(1));
+            verify(availabilityCache).invalidate(firstMonth.plusMonths(2));
+        }
+
+        @Test
+        @DisplayName("should keep the availability cache when every slot already exists")
+        void generateSlotsForMonths_NothingNew_ShouldKeepCache() {
+            YearMonth futureMonth = YearMonth.now().plusMonths(1);
+            when(timeSlotRepository.insertMissing(any())).thenReturn(0);
+
+            String message = timeSlotService.generateSlotsForMonths(futureMonth.getYear(), futureMonth.getMonthValue(), 1);
+
+            assertTrue(message.contains("0 new time slots"));
+            verifyNoInteractions(availabilityCache);
         }
 
         @Test
         @DisplayName("should not generate slots for days of this month before today")
-        void generateSlotsForMonth_CurrentMonth_ShouldSkipPastDays() {
+            void generateSlotsForMonths_CurrentMonth_ShouldSkipPastDays() {
             YearMonth currentMonth = YearMonth.now();
-            if (java.time.LocalDate.now().getDayOfMonth() > 1) {
-                when(timeSlotRepository.findExistingStartTimes(any(), any())).thenReturn(Collections.emptySet());
+            timeSlotService.generateSlotsForMonths(currentMonth.getYear(), currentMonth.getMonthValue(), 1);
 
-                timeSlotService.generateSlotsForMonth(currentMonth.getYear(), currentMonth.getMonthValue());
+            ArgumentCaptor<SlotBatch> captor = ArgumentCaptor.forClass(SlotBatch.class);
+            verify(timeSlotRepository).insertMissing(captor.capture());
 
-                ArgumentCaptor<List<TimeSlot>> captor = ArgumentCaptor.forClass(List.class);
-                verify(timeSlotRepository).saveAll(captor.capture());
+            assertFalse(captor.getValue().startTime(0).toLocalDate().isBefore(LocalDate.now()));
+        }
+    }
 
-                List<TimeSlot> savedSlots = captor.getValue();
-                assertFalse(savedSlots.isEmpty());
+    @Nested
+    @DisplayName("Regenerate days")
+    class RegenerateDaysTests {
 
-                assertTrue(savedSlots.getFirst().getStartTime().toLocalDate().isAfter(currentMonth.atDay(1).minusDays(1)));
-            }
+        @Test
+        @DisplayName("regenerateDays should replace unbooked slots of the given days with the new template")
+        void regenerateDays_ShouldDeleteAndInsertForTheDays() {
+            LocalDate day = LocalDate.now().plusWeeks(1);
+            ScheduleTemplate template = ScheduleTemplate.compile(ScheduleRuleFixtures.defaultRules());
+            when(timeSlotRepository.deleteUnbookedNotIn(any(), any())).thenReturn(2);
+            when(timeSlotRepository.insertMissing(any())).thenReturn(0);
+
+            timeSlotService.regenerateDays(List.of(day), template);
+
+            ArgumentCaptor<SlotBatch> captor = ArgumentCaptor.forClass(SlotBatch.class);
+            verify(timeSlotRepository).deleteUnbookedNotIn(eq(new LocalDate[]{day}), captor.capture());
+            assertEquals(template.forDate(day).size(), captor.getValue().size());
+            verify(timeSlotRepository).insertMissing(captor.getValue());
+            verify(availabilityCache).invalidate(YearMonth.from(day));
         }
     }
 }
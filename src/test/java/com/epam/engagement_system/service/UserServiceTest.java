@@ -6,6 +6,7 @@ import com.epam.engagement_system.dto.user.UpdateProfileRequest;
 import com.epam.engagement_system.dto.user.UserInformationResponse;
 import com.epam.engagement_system.exception.ResourceNotFoundException;
 import com.epam.engagement_system.repository.UserRepository;
+import com.epam.engagement_system.service.cache.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,6 +27,8 @@ class UserServiceTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserPrincipalCache principalCache;
 
     @InjectMocks
     private UserService userService;
@@ -85,6 +88,7 @@ class UserServiceTest {
             assertEquals(Gender.MALE, response.gender());
 
             verify(userRepository).findById(userId);
+            verify(principalCache).invalidate("+7702123123");
         }
 
         @Test
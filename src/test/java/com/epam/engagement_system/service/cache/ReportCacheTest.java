@@ -0,0 +1,61 @@
+package com.epam.engagement_system.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportCache unit tests")
+class ReportCacheTest {
+
+    private ReportCache reportCache;
+    private final ReportCache.Key key = new ReportCache.Key("PDF", LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30), 1L);
+
+    @BeforeEach
+    void setUp() {
+        reportCache = new ReportCache(new SimpleMeterRegistry(), DataSize.ofBytes(1000), DataSize.ofBytes(100));
+    }
+
+    @Test
+    @DisplayName("writeThrough should pass the report through and keep a copy")
+    void writeThrough_SmallReport_ShouldBeCached() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportCache.writeThrough(key, out, reportOut -> reportOut.write(new byte[50]));
+
+        assertEquals(50, out.size());
+        assertArrayEquals(new byte[50], reportCache.get(new ReportCache.Key("pdf", key.startDate(), key.endDate(), 1L)));
+    }
+
+    @Test
+    @DisplayName("writeThrough should not cache a report larger than the entry limit")
+    void writeThrough_LargeReport_ShouldNotBeCached() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportCache.writeThrough(key, out, reportOut -> {
+            reportOut.write(new byte[60]);
+            reportOut.write(new byte[60]);
+        });
+
+        assertEquals(120, out.size());
+        assertNull(reportCache.get(key));
+    }
+
+    @Test
+    @DisplayName("writeThrough should not cache a report whose generation failed")
+    void writeThrough_FailedReport_ShouldNotBeCached() {
+        assertThrows(IOException.class, () -> reportCache.writeThrough(key, new ByteArrayOutputStream(), reportOut -> {
+            reportOut.write(new byte[10]);
+            throw new IOException("client went away");
+        }));
+
+        assertNull(reportCache.get(key));
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.repository.ReportDataVersionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportDataVersions unit tests")
+class ReportDataVersionsTest {
+
+    @Mock
+    private ReportDataVersionRepository reportDataVersionRepository;
+
+    @InjectMocks
+    private ReportDataVersions reportDataVersions;
+
+    @Test
+    @DisplayName("markChanged should bump the version of the day the slot starts on")
+    void markChanged_ShouldBumpSlotDay() {
+        TimeSlot timeSlot = new TimeSlot();
+        timeSlot.setStartTime(LocalDateTime.of(2025, 9, 30, 16, 30));
+
+        reportDataVersions.markChanged(timeSlot);
+
+        verify(reportDataVersionRepository).bump(LocalDate.of(2025, 9, 30));
+    }
+
+    @Test
+    @DisplayName("versionOf should return the sum of the day versions of the period")
+    void versionOf_ShouldSumDayVersionsOfPeriod() {
+        when(reportDataVersionRepository.sumVersions(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30))).thenReturn(17L);
+
+        assertEquals(17L, reportDataVersions.versionOf(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.epam.engagement_system.service.cache;
+
+import com.epam.engagement_system.domain.TimeSlot;
+import com.epam.engagement_system.dto.appointment.TimeSlotInformationResponse;
+import com.epam.engagement_system.repository.TimeSlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimeSlotAvailabilityCache unit tests")
+class TimeSlotAvailabilityCacheTest {
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    private MeterRegistry meterRegistry;
+    private TimeSlotAvailabilityCache availabilityCache;
+
+    private final YearMonth month = YearMonth.of(2025, 10);
+    private TimeSlot firstSlot;
+    private TimeSlot secondSlot;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityCache = new TimeSlotAvailabilityCache(timeSlotRepository, meterRegistry, Duration.ofMinutes(10));
+
+        firstSlot = createSlot(1L, LocalDateTime.of(2025, 10, 1, 9, 0), 1, 0);
+        secondSlot = createSlot(2L, LocalDateTime.of(2025, 10, 1, 9, 30), 1, 1);
+        when(timeSlotRepository.findByStartTimeBetweenOrderByStartTimeAsc(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(firstSlot, secondSlot));
+    }
+
+    @Test
+    @DisplayName("getAvailableSlots should query the database only on the first request of a month")
+    void getAvailableSlots_RepeatedRequests_ShouldHitCache() {
+        List<TimeSlotInformationResponse> first = availabilityCache.getAvailableSlots(month);
+        List<TimeSlotInformationResponse> second = availabilityCache.getAvailableSlots(month);
+
+        assertEquals(1, first.size());
+        assertEquals(1L, first.getFirst().id());
+        assertEquals(first, second);
+        verify(timeSlotRepository, times(1)).findByStartTimeBetweenOrderByStartTimeAsc(any(), any());
+        assertEquals(1.0, meterRegistry.get("availability.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("availability.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("markBooked and markReleased should update the cached month without reloading it")
+    void markBookedAndReleased_ShouldUpdateIncrementally() {
+        availabilityCache.getAvailableSlots(month);
+
+        availabilityCache.markBooked(firstSlot);
+        assertTrue(availabilityCache.getAvailableSlots(month).isEmpty());
+
+        availabilityCache.markReleased(secondSlot);
+        List<TimeSlotInformationResponse> available = availabilityCache.getAvailableSlots(month);
+        assertEquals(1, available.size());
+        assertEquals(2L, available.getFirst().id());
+
+        verify(timeSlotRepository, times(1)).findByStartTimeBetweenOrderByStartTimeAsc(any(), any());
+    }
+
+    @Test
+    @DisplayName("a slot with several seats should stay available until its last seat is booked")
+    void markBooked_MultiSeatSlot_ShouldTrackRemainingCapacity() {
+        firstSlot.setCapacity(3);
+        firstSlot.setBookedCount(1);
+        availabilityCache.getAvailableSlots(month);
+
+        availabilityCache.markBooked(firstSlot);
+        TimeSlotInformationResponse remaining = availabilityCache.getAvailableSlots(month).getFirst();
+        assertEquals(3, remaining.capacity());
+        assertEquals(1, remaining.remainingCapacity());
+
+        availabilityCache.markBooked(firstSlot);
+        assertTrue(availabilityCache.getAvailableSlots(month).isEmpty());
+    }
+
+    @Test
+    @DisplayName("invalidate should force the next request to reload the month")
+    void invalidate_ShouldReloadMonth() {
+        availabilityCache.getAvailableSlots(month);
+
+        availabilityCache.invalidate(month);
+        availabilityCache.getAvailableSlots(month);
+
+        verify(timeSlotRepository, times(2)).findByStartTimeBetweenOrderByStartTimeAsc(any(), any());
+    }
+
+    @Test
+    @DisplayName("entries older than max age should be reloaded")
+    void getAvailableSlots_ExpiredEntry_ShouldReload() {
+        TimeSlotAvailabilityCache expiringCache = new TimeSlotAvailabilityCache(timeSlotRepository, meterRegistry, Duration.ZERO.minusSeconds(1));
+
+        expiringCache.getAvailableSlots(month);
+        expiringCache.getAvailableSlots(month);
+
+        verify(timeSlotRepository, times(2)).findByStartTimeBetweenOrderByStartTimeAsc(any(), any());
+    }
+
+    private TimeSlot createSlot(Long id, LocalDateTime start, int capacity, int bookedCount) {
+        TimeSlot timeSlot = new TimeSlot();
+        timeSlot.setId(id);
+        timeSlot.setStartTime(start);
+        timeSlot.setEndTime(start.plusMinutes(30));
+        timeSlot.setCapacity(capacity);
+        timeSlot.setBookedCount(bookedCount);
+        return timeSlot;
+    }
+}
@@ -0,0 +1,102 @@
+package com.epam.engagement_system.service.document;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ImageDocumentOptimizer unit tests")
+class ImageDocumentOptimizerTest {
+
+    private final ImageDocumentOptimizer optimizer = new ImageDocumentOptimizer(2000, 0.8f);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("optimize should downscale a large photo to the maximum dimension and keep the aspect ratio")
+    void optimize_LargeJpeg_ShouldDownscale() throws Exception {
+        Path source = write("photo.jpg", new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB), "jpeg");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        optimizer.optimize(source, DocumentType.JPEG, out);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2000, result.getWidth());
+        assertEquals(1500, result.getHeight());
+        assertEquals(Optional.of(DocumentType.JPEG), DocumentType.sniff(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("optimize should keep the size of a small PNG and write it as PNG")
+    void optimize_SmallPng_ShouldKeepDimensions() throws Exception {
+        Path source = write("scan.png", new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB), "png");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        optimizer.optimize(source, DocumentType.PNG, out);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(800, result.getWidth());
+        assertEquals(600, result.getHeight());
+        assertEquals(Optional.of(DocumentType.PNG), DocumentType.sniff(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("optimize should turn a photo upright according to its EXIF orientation")
+    void optimize_RotatedPhoto_ShouldApplyOrientation() throws Exception {
+        BufferedImage sensorImage = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = sensorImage.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 50, 50);
+        graphics.dispose();
+        Path source = write("phone.jpg", sensorImage, "jpeg");
+        Files.write(source, withExifOrientation(Files.readAllBytes(source), 6));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        optimizer.optimize(source, DocumentType.JPEG, out);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(200, result.getWidth());
+        assertEquals(400, result.getHeight());
+        Color topRight = new Color(result.getRGB(185, 15));
+        assertTrue(topRight.getRed() > 200 && topRight.getGreen() < 60, "the top left corner should end up top right");
+    }
+
+    private Path write(String name, BufferedImage image, String format) throws Exception {
+        Path file = directory.resolve(name);
+        try (var out = Files.newOutputStream(file)) {
+            ImageIO.write(image, format, out);
+        }
+        return file;
+    }
+
+    // Inserts a big-endian EXIF segment with only the orientation tag right after the JFIF segment.
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer exif = ByteBuffer.allocate(2 + 2 + 6 + 8 + 2 + 12 + 4);
+        exif.putShort((short) 0xFFE1).putShort((short) (exif.capacity() - 2));
+        exif.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        exif.put(new byte[]{'M', 'M'}).putShort((short) 42).putInt(8);
+        exif.putShort((short) 1);
+        exif.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        exif.putInt(0);
+
+        int jfifEnd = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+        byte[] result = new byte[jpeg.length + exif.capacity()];
+        System.arraycopy(jpeg, 0, result, 0, jfifEnd);
+        System.arraycopy(exif.array(), 0, result, jfifEnd, exif.capacity());
+        System.arraycopy(jpeg, jfifEnd, result, jfifEnd + exif.capacity(), jpeg.length - jfifEnd);
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.epam.engagement_system.service.otp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryOtpStore unit tests")
+class InMemoryOtpStoreTest {
+    private static final String PHONE = "+77001234567";
+
+    private InMemoryOtpStore otpStore;
+
+    @BeforeEach
+    void setUp() {
+        otpStore = store(Duration.ofMinutes(5), 3, 10);
+    }
+
+    @Test
+    @DisplayName("consume should accept an issued code exactly once")
+    void consume_IssuedCode_ShouldSucceedOnce() {
+        assertTrue(otpStore.issue(PHONE, "hash"));
+
+        assertFalse(otpStore.consume(PHONE, "other"));
+        assertTrue(otpStore.consume(PHONE, "hash"));
+        assertFalse(otpStore.consume(PHONE, "hash"));
+    }
+
+    @Test
+    @DisplayName("issue should replace the previous code of the phone number")
+    void issue_Again_ShouldReplaceCode() {
+        otpStore.issue(PHONE, "first");
+        otpStore.issue(PHONE, "second");
+
+        assertFalse(otpStore.consume(PHONE, "first"));
+        assertTrue(otpStore.consume(PHONE, "second"));
+    }
+
+    @Test
+    @DisplayName("consume should reject an expired code")
+    void consume_ExpiredCode_ShouldFail() {
+        InMemoryOtpStore expiringStore = store(Duration.ofMillis(-1), 3, 10);
+
+        expiringStore.issue(PHONE, "hash");
+
+        assertFalse(expiringStore.consume(PHONE, "hash"));
+    }
+
+    @Test
+    @DisplayName("issue should refuse codes beyond the per-phone limit, even after a successful login")
+    void issue_OverRateLimit_ShouldRefuse() {
+        assertTrue(otpStore.issue(PHONE, "1"));
+        assertTrue(otpStore.issue(PHONE, "2"));
+        assertTrue(otpStore.consume(PHONE, "2"));
+        assertTrue(otpStore.issue(PHONE, "3"));
+
+        assertFalse(otpStore.issue(PHONE, "4"));
+        assertTrue(otpStore.issue("+77007654321", "1"));
+    }
+
+    @Test
+    @DisplayName("issue should refuse new phone numbers once the store is full")
+    void issue_StoreFull_ShouldRefuseNewPhoneNumbers() {
+        InMemoryOtpStore smallStore = store(Duration.ofMinutes(5), 3, 1);
+
+        assertTrue(smallStore.issue(PHONE, "1"));
+        assertFalse(smallStore.issue("+77007654321", "1"));
+        assertTrue(smallStore.issue(PHONE, "2"));
+    }
+
+    @Test
+    @DisplayName("sweep should drop entries only after both the code and the rate window have expired")
+    void sweep_ShouldDropExpiredEntries() {
+        otpStore.issue(PHONE, "hash");
+
+        otpStore.sweep(Instant.now().plus(Duration.ofMinutes(6)));
+        assertEquals(1, otpStore.size());
+
+        otpStore.sweep(Instant.now().plus(Duration.ofMinutes(16)));
+        assertEquals(0, otpStore.size());
+        assertTrue(otpStore.issue(PHONE, "hash"));
+    }
+
+    private static InMemoryOtpStore store(Duration ttl, int maxRequests, int maxEntries) {
+        return new InMemoryOtpStore(ttl, maxRequests, Duration.ofMinutes(15), maxEntries, Duration.ofSeconds(10), new SimpleMeterRegistry());
+    }
+}
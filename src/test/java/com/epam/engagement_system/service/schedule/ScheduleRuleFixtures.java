@@ -0,0 +1,42 @@
+package com.epam.engagement_system.service.schedule;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ScheduleRuleFixtures {
+    private ScheduleRuleFixtures() {
+    }
+
+    // The rules seeded by V9, i.e. the schedule that used to be hardcoded.
+    public static List<ScheduleRule> defaultRules() {
+        List<ScheduleRule> rules = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            rules.add(rule(ScheduleRuleType.OPENING_HOURS, day, null, LocalTime.of(9, 0), LocalTime.of(18, 0), 30));
+            if (day == DayOfWeek.FRIDAY) {
+                rules.add(rule(ScheduleRuleType.BREAK, day, null, LocalTime.of(12, 30), LocalTime.of(14, 0), null));
+            } else {
+                rules.add(rule(ScheduleRuleType.BREAK, day, null, LocalTime.of(12, 0), LocalTime.of(13, 0), null));
+            }
+        }
+        return rules;
+    }
+
+    public static ScheduleRule rule(ScheduleRuleType type, DayOfWeek dayOfWeek, LocalDate date,
+                                     LocalTime startTime, LocalTime endTime, Integer slotMinutes) {
+        ScheduleRule rule = new ScheduleRule();
+        rule.setType(type);
+        rule.setDayOfWeek(dayOfWeek);
+        rule.setDate(date);
+        rule.setStartTime(startTime);
+        rule.setEndTime(endTime);
+        rule.setSlotMinutes(slotMinutes);
+        rule.setCapacity(type == ScheduleRuleType.OPENING_HOURS ? 1 : null);
+        return rule;
+    }
+}
@@ -0,0 +1,95 @@
+package com.epam.engagement_system.service.schedule;
+
+import com.epam.engagement_system.domain.ScheduleRule;
+import com.epam.engagement_system.domain.enums.ScheduleRuleType;
+import com.epam.engagement_system.repository.SlotBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.epam.engagement_system.service.schedule.ScheduleRuleFixtures.defaultRules;
+import static com.epam.engagement_system.service.schedule.ScheduleRuleFixtures.rule;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScheduleTemplate unit tests")
+class ScheduleTemplateTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 11, 2);
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 11, 6);
+
+    @Test
+    @DisplayName("compile should reproduce the default schedule with its Friday lunch break")
+    void compile_DefaultRules_ShouldMatchDefaultSchedule() {
+        ScheduleTemplate template = ScheduleTemplate.compile(defaultRules());
+
+        List<LocalDateTime> monday = slots(template, MONDAY);
+        assertEquals(16, monday.size());
+        assertEquals(MONDAY.atTime(9, 0), monday.getFirst());
+        assertFalse(monday.contains(MONDAY.atTime(12, 0)));
+        assertTrue(monday.contains(MONDAY.atTime(13, 0)));
+        assertEquals(MONDAY.atTime(17, 30), monday.getLast());
+
+        List<LocalDateTime> friday = slots(template, FRIDAY);
+        assertEquals(15, friday.size());
+        assertTrue(friday.contains(FRIDAY.atTime(12, 0)));
+        assertFalse(friday.contains(FRIDAY.atTime(13, 30)));
+    }
+
+    @Test
+    @DisplayName("a closed date should have no slots while the rest of its weekday is unchanged")
+    void compile_ClosedDate_ShouldOnlyCloseThatDate() {
+        List<ScheduleRule> rules = new ArrayList<>(defaultRules());
+        rules.add(rule(ScheduleRuleType.CLOSED, null, MONDAY, null, null, null));
+
+        ScheduleTemplate template = ScheduleTemplate.compile(rules);
+
+        assertEquals(0, template.forDate(MONDAY).size());
+        assertEquals(16, template.forDate(MONDAY.plusWeeks(1)).size());
+    }
+
+    @Test
+    @DisplayName("a date with its own opening hours should ignore its weekday rules, a date with only a break should add it")
+    void compile_DateRules_ShouldOverrideOrExtendWeekday() {
+        List<ScheduleRule> rules = new ArrayList<>(defaultRules());
+        rules.add(rule(ScheduleRuleType.OPENING_HOURS, null, MONDAY, LocalTime.of(10, 0), LocalTime.of(12, 0), 60));
+        rules.add(rule(ScheduleRuleType.BREAK, null, FRIDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null));
+
+        ScheduleTemplate template = ScheduleTemplate.compile(rules);
+
+        assertEquals(List.of(MONDAY.atTime(10, 0), MONDAY.atTime(11, 0)), slots(template, MONDAY));
+        List<LocalDateTime> friday = slots(template, FRIDAY);
+        assertEquals(13, friday.size());
+        assertEquals(FRIDAY.atTime(10, 0), friday.getFirst());
+    }
+
+    @Test
+    @DisplayName("slots should take the capacity of the opening hours they belong to")
+    void compile_OpeningHoursCapacity_ShouldApplyToSlots() {
+        List<ScheduleRule> rules = new ArrayList<>(defaultRules());
+        ScheduleRule groupHours = rule(ScheduleRuleType.OPENING_HOURS, null, MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0), 30);
+        groupHours.setCapacity(4);
+        rules.add(groupHours);
+
+        SlotBatch batch = new SlotBatch(16);
+        ScheduleTemplate.compile(rules).forDate(MONDAY).appendTo(MONDAY.toEpochDay(), batch);
+
+        assertEquals(2, batch.size());
+        assertEquals(4, batch.capacity(0));
+        assertEquals(4, batch.capacity(1));
+        assertNotEquals(ScheduleTemplate.compile(defaultRules()).forDate(MONDAY), ScheduleTemplate.compile(rules).forDate(MONDAY));
+    }
+
+    private static List<LocalDateTime> slots(ScheduleTemplate template, LocalDate date) {
+        SlotBatch batch = new SlotBatch(16);
+        template.forDate(date).appendTo(date.toEpochDay(), batch);
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            starts.add(batch.startTime(i));
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.engagement_system.service.sms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalSmsGateway unit tests")
+class LocalSmsGatewayTest {
+
+    @Test
+    @DisplayName("send should wait for the simulated latency and count the message")
+    void send_ShouldSimulateLatency() {
+        LocalSmsGateway gateway = new LocalSmsGateway(Duration.ofMillis(20), Duration.ZERO, 0.0);
+
+        long start = System.nanoTime();
+        gateway.send("+77001234567", "Hello");
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 20);
+        assertEquals(1, gateway.getSentCount());
+        assertEquals(0, gateway.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("send should fail every message when the failure rate is 1")
+    void send_FailureRateOne_ShouldThrow() {
+        LocalSmsGateway gateway = new LocalSmsGateway(Duration.ZERO, Duration.ZERO, 1.0);
+
+        assertThrows(IllegalStateException.class, () -> gateway.send("+77001234567", "Hello"));
+        assertEquals(0, gateway.getSentCount());
+        assertEquals(1, gateway.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("constructor should reject a failure rate outside of 0..1")
+    void constructor_InvalidFailureRate_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalSmsGateway(Duration.ZERO, Duration.ZERO, 1.5));
+    }
+}
@@ -0,0 +1,120 @@
+package com.epam.engagement_system.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmarks
+// Sends a large PDF-sized file over a loopback socket the way the old download did (UrlResource copied through heap
+// buffers by the message converter) and the way FileDownloadUtil does (FileChannel.transferTo, which is sendfile on
+// Linux and what Tomcat's sendfile support uses). Tune with -Dbenchmark.download.size-mb and -Dbenchmark.download.rounds.
+@Tag("benchmark")
+@DisplayName("Document download benchmark")
+class DocumentDownloadBenchmarkTest {
+    private static final int SIZE_MB = Integer.getInteger("benchmark.download.size-mb", 50);
+    private static final int ROUNDS = Integer.getInteger("benchmark.download.rounds", 20);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("transferTo should send large documents at least as fast as the stream copy and allocate nothing per byte")
+    void download_LargeDocument_ShouldCompareCopyStrategies() throws Exception {
+        Path document = directory.resolve("scan.pdf");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(document)) {
+            for (int i = 0; i < SIZE_MB; i++) {
+                out.write(chunk);
+            }
+        }
+        long size = Files.size(document);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             ExecutorService drain = Executors.newSingleThreadExecutor()) {
+            run("warm-up stream copy", server, drain, size, ROUNDS / 4 + 1, client -> streamCopy(document, client));
+            run("warm-up transferTo", server, drain, size, ROUNDS / 4 + 1, client -> transferTo(document, client));
+            run("stream copy (UrlResource)", server, drain, size, ROUNDS, client -> streamCopy(document, client));
+            run("transferTo (zero-copy)", server, drain, size, ROUNDS, client -> transferTo(document, client));
+        }
+    }
+
+    private static void run(String name, ServerSocketChannel server, ExecutorService drain, long size, int rounds,
+                            Sender sender) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            try (SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+                SocketChannel accepted = server.accept();
+                Future<Long> received = drain.submit(() -> drainFully(accepted));
+                sender.send(client);
+                client.shutdownOutput();
+                assertEquals(size, received.get());
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (!name.startsWith("warm-up")) {
+            double megabytes = (double) size * rounds / (1024 * 1024);
+            System.out.printf("%s: %d x %d MB in %d ms, %.0f MB/s, %d KB allocated by the sending thread%n",
+                    name, rounds, size / (1024 * 1024), elapsedNanos / 1_000_000, megabytes / (elapsedNanos / 1e9), allocated / 1024);
+        }
+    }
+
+    private static void streamCopy(Path document, SocketChannel client) throws Exception {
+        try (InputStream in = new UrlResource(document.toUri()).getInputStream()) {
+            StreamUtils.copy(in, Channels.newOutputStream(client));
+        }
+    }
+
+    private static void transferTo(Path document, SocketChannel client) throws Exception {
+        try (FileChannel channel = FileChannel.open(document, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, client);
+            }
+        }
+    }
+
+    private static long drainFully(SocketChannel channel) throws Exception {
+        try (channel) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            long total = 0;
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                total += read;
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(SocketChannel client) throws Exception;
+    }
+}
@@ -0,0 +1,120 @@
+package com.epam.engagement_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileDownloadUtil unit tests")
+class FileDownloadUtilTest {
+    private static final String ETAG = "\"" + "ab".repeat(32) + "\"";
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(directory.resolve("document.pdf"), "0123456789");
+        request = new MockHttpServletRequest("GET", "/api/v1/appointments/1/document");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("send should stream the whole file with validators and range support advertised")
+    void send_PlainRequest_ShouldSendWholeFile() throws Exception {
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    @DisplayName("send should answer a matching If-None-Match with 304 and no body")
+    void send_MatchingETag_ShouldReturnNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("send should answer If-Modified-Since for documents without an ETag")
+    void send_NotModifiedSince_ShouldReturnNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Files.getLastModifiedTime(file).toMillis());
+
+        FileDownloadUtil.send(file, null, request, response);
+
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("send should serve a single byte range with 206")
+    void send_SingleRange_ShouldSendPartialContent() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("send should ignore the range when If-Range no longer matches")
+    void send_StaleIfRange_ShouldSendWholeFile() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("send should reject a range outside the file with 416")
+    void send_UnsatisfiableRange_ShouldReturn416() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("send should hand the file to the container when it supports sendfile")
+    void send_SendfileSupported_ShouldNotWriteBody() throws Exception {
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+
+        FileDownloadUtil.send(file, ETAG, request, response);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(4L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(6, response.getContentLengthLong());
+    }
+}